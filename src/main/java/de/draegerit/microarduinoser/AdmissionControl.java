@@ -0,0 +1,212 @@
+package de.draegerit.microarduinoser;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import de.draegerit.microarduinoser.configuration.AdmissionConfiguration;
+import io.dropwizard.jersey.errors.ErrorMessage;
+
+/**
+ * Zugangskontrolle vor dem seriellen Port. Je Client wird die Anzahl der
+ * Anfragen mit einem {@link TokenBucket} begrenzt (429), je Port wird nur
+ * ein Lesevorgang zugelassen und die Anzahl der wartenden Anfragen begrenzt
+ * (503). Somit blockieren bei Überlast nur wenige Threads auf dem Port. Die
+ * abgewiesenen Anfragen werden unter <i>admission.*</i> in der
+ * {@link MetricRegistry} erfasst.
+ */
+public class AdmissionControl {
+
+	private static final int TOO_MANY_REQUESTS = 429;
+
+	/**
+	 * Zeit ohne Anfrage nach der der {@link TokenBucket} eines Clients bzw.
+	 * ein Port verworfen wird.
+	 **/
+	private static final long EXPIRY_MINUTES = 10;
+
+	private final AdmissionConfiguration configuration;
+
+	/**
+	 * Die Portnamen stammen vom Client, daher werden ungenutzte Ports
+	 * verworfen. Die Ablaufzeit übersteigt die Dauer eines Lesevorgangs und
+	 * den <i>queueTimeout</i>, somit wird kein belegter Port verworfen.
+	 **/
+	private final LoadingCache<String, PortGate> gates;
+
+	private final LoadingCache<String, TokenBucket> buckets;
+
+	private final Meter rateLimited;
+
+	private final Meter queueFull;
+
+	private final Meter queueTimeout;
+
+	private final Meter expectedWait;
+
+	public AdmissionControl(final AdmissionConfiguration configuration, MetricRegistry registry) {
+		this.configuration = configuration;
+		this.buckets = CacheBuilder.newBuilder().expireAfterAccess(EXPIRY_MINUTES, TimeUnit.MINUTES)
+				.build(new CacheLoader<String, TokenBucket>() {
+
+					@Override
+					public TokenBucket load(String client) {
+						return new TokenBucket(configuration.getRequestsPerSecond(), configuration.getBurst(),
+								System.nanoTime());
+					}
+				});
+		this.gates = CacheBuilder.newBuilder()
+				.expireAfterAccess(TimeUnit.MINUTES.toMillis(EXPIRY_MINUTES) + configuration.getQueueTimeout()
+						+ 2L * configuration.getMaxSleep(), TimeUnit.MILLISECONDS)
+				.build(new CacheLoader<String, PortGate>() {
+
+					@Override
+					public PortGate load(String portname) {
+						return new PortGate();
+					}
+				});
+		this.rateLimited = registry.meter(MetricRegistry.name("admission", "rejected", "rate-limited"));
+		this.queueFull = registry.meter(MetricRegistry.name("admission", "rejected", "queue-full"));
+		this.queueTimeout = registry.meter(MetricRegistry.name("admission", "rejected", "queue-timeout"));
+		this.expectedWait = registry.meter(MetricRegistry.name("admission", "rejected", "expected-wait"));
+	}
+
+	/**
+	 * Begrenzt die Wartezeit eines Lesevorgangs auf <i>maxSleep</i>
+	 * Millisekunden, da der Client diese sonst beliebig lange wählen und den
+	 * Port belegen könnte.
+	 *
+	 * @param sleep
+	 *            die gewünschte Wartezeit in Millisekunden
+	 * @return die zulässige Wartezeit in Millisekunden
+	 */
+	public int limitSleep(int sleep) {
+		return Math.max(0, Math.min(sleep, configuration.getMaxSleep()));
+	}
+
+	/**
+	 * Reserviert einen Lesevorgang auf dem Port. Nach dem Lesen muss
+	 * {@link #release(String)} aufgerufen werden. Übersteigt die erwartete
+	 * Wartezeit, die Anzahl der wartenden Anfragen mal der Dauer eines
+	 * Lesevorgangs, den <i>queueTimeout</i>, wird die Anfrage sofort
+	 * abgewiesen statt erst nach Ablauf des <i>queueTimeout</i>.
+	 *
+	 * @param portname
+	 *            der Portname
+	 * @param client
+	 *            die Adresse des Clients
+	 * @param holdTime
+	 *            die Dauer eines Lesevorgangs in Millisekunden
+	 * @throws WebApplicationException
+	 *             mit dem Status 429 wenn der Client zu viele Anfragen stellt,
+	 *             mit dem Status 503 wenn der Port ausgelastet ist
+	 */
+	public void acquire(String portname, String client, long holdTime) {
+		if (configuration.getRequestsPerSecond() > 0) {
+			TokenBucket bucket = buckets.getUnchecked(client);
+			long now = System.nanoTime();
+			if (!bucket.tryAcquire(now)) {
+				rateLimited.mark();
+				// aufrunden, damit der Client nicht zu früh erneut anfragt
+				long retryAfter = Math.max(1, (long) Math.ceil(bucket.getNanosUntilAvailable(now) / (double) TimeUnit.SECONDS.toNanos(1)));
+				throw reject(TOO_MANY_REQUESTS, "too many requests from " + client, retryAfter);
+			}
+		}
+		PortGate gate = getGate(portname);
+		// tryAcquire() ohne Zeitangabe würde die Fairness umgehen und wartende
+		// Anfragen überholen
+		if (tryAcquire(gate, 0, portname)) {
+			return;
+		}
+		int position = gate.queued.incrementAndGet();
+		if (position > configuration.getMaxQueuedRequests()) {
+			gate.queued.decrementAndGet();
+			queueFull.mark();
+			throw reject(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), "port " + portname + " is busy", 1);
+		}
+		long wait = position * holdTime;
+		if (wait > configuration.getQueueTimeout()) {
+			gate.queued.decrementAndGet();
+			expectedWait.mark();
+			throw reject(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), "port " + portname + " is busy",
+					Math.max(1, (long) Math.ceil(wait / (double) TimeUnit.SECONDS.toMillis(1))));
+		}
+		try {
+			if (!tryAcquire(gate, configuration.getQueueTimeout(), portname)) {
+				queueTimeout.mark();
+				throw reject(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), "port " + portname + " is busy", 1);
+			}
+		} finally {
+			gate.queued.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Liefert die Anzahl der wartenden Anfragen eines Ports.
+	 *
+	 * @param portname
+	 *            der Portname
+	 * @return die Anzahl der wartenden Anfragen
+	 */
+	int getQueuedRequests(String portname) {
+		return getGate(portname).queued.get();
+	}
+
+	private boolean tryAcquire(PortGate gate, long timeout, String portname) {
+		try {
+			return gate.permits.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw reject(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), "interrupted while waiting for port " + portname, 1);
+		}
+	}
+
+	/**
+	 * Gibt den mit {@link #acquire(String, String, long)} reservierten Lesevorgang
+	 * wieder frei.
+	 *
+	 * @param portname
+	 *            der Portname
+	 */
+	public void release(String portname) {
+		getGate(portname).permits.release();
+	}
+
+	private PortGate getGate(String portname) {
+		return gates.getUnchecked(portname);
+	}
+
+	private WebApplicationException reject(int status, String message, long retryAfter) {
+		return new WebApplicationException(message, Response.status(status)
+				.header(HttpHeaders.RETRY_AFTER, retryAfter)
+				.type(MediaType.APPLICATION_JSON_TYPE)
+				.entity(new ErrorMessage(status, message))
+				.build());
+	}
+
+	/**
+	 * Der laufende und die wartenden Lesevorgänge eines Ports.
+	 */
+	private static final class PortGate {
+
+		private final Semaphore permits;
+
+		private final AtomicInteger queued = new AtomicInteger();
+
+		private PortGate() {
+			// jeder Lesevorgang öffnet den Port exklusiv
+			this.permits = new Semaphore(1, true);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package de.draegerit.microarduinoser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rechnet Zeitpunkte von {@link System#nanoTime()} in die Systemzeit
+ * (Millisekunden seit 1970) um. Der Versatz zwischen beiden Uhren wird bei
+ * jeder Umrechnung neu ermittelt, somit wirken sich Korrekturen der
+ * Systemzeit (zbsp. durch NTP) auch auf später umgerechnete Zeitpunkte aus.
+ */
+public final class ArrivalClock {
+
+	private ArrivalClock() {
+		// utility class
+	}
+
+	/**
+	 * Liefert die Systemzeit zu einem mit {@link System#nanoTime()} gemessenen
+	 * Zeitpunkt. Für kurz zurückliegende Zeitpunkte ist die Umrechnung
+	 * millisekundengenau.
+	 *
+	 * @param nanos
+	 *            der Zeitpunkt in Nanosekunden
+	 * @return die Systemzeit in Millisekunden
+	 */
+	public static long toEpochMillis(final long nanos) {
+		return System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanos);
+	}
+}
@@ -0,0 +1,108 @@
+package de.draegerit.microarduinoser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import de.draegerit.microarduinoser.configuration.ChannelConfiguration;
+
+/**
+ * Zerlegt die empfangenen Zeichen in Rahmen und ordnet diese anhand des
+ * Präfixes den konfigurierten Kanälen zu. Enthält ein Rahmen mehrere Werte,
+ * so können diese mit einem Trennzeichen getrennt werden, zbsp.:
+ * <code>AT21.5;H40B</code>.
+ */
+public class ChannelDemultiplexer {
+
+	/**
+	 * Die Kanalnamen je Präfix, das längste Präfix zuerst.
+	 **/
+	private final Map<String, String> channelsByPrefix = new LinkedHashMap<String, String>();
+
+	private final String separator;
+
+	public ChannelDemultiplexer(List<ChannelConfiguration> channels, String separator) {
+		List<ChannelConfiguration> sorted = new ArrayList<ChannelConfiguration>(channels);
+		Collections.sort(sorted, new Comparator<ChannelConfiguration>() {
+
+			public int compare(ChannelConfiguration a, ChannelConfiguration b) {
+				return b.getPrefix().length() - a.getPrefix().length();
+			}
+		});
+		for (ChannelConfiguration channel : sorted) {
+			this.channelsByPrefix.put(channel.getPrefix(), channel.getName());
+		}
+		this.separator = separator;
+	}
+
+	/**
+	 * Prüft ob ein Kanal mit dem Namen konfiguriert ist.
+	 *
+	 * @param channel
+	 *            der Kanalname
+	 * @return <code>true</code> wenn der Kanal konfiguriert ist
+	 */
+	public boolean hasChannel(String channel) {
+		return this.channelsByPrefix.containsValue(channel);
+	}
+
+	/**
+	 * Liefert alle vollständigen Rahmen in der Reihenfolge des Empfangs. Die
+	 * Suche schreitet auch bei leeren Begrenzungszeichen um mindestens ein
+	 * Zeichen voran.
+	 *
+	 * @param message
+	 *            die empfangenen Zeichen
+	 * @param firstCharacter
+	 *            das Zeichen mit dem ein Rahmen beginnt
+	 * @param lastCharacter
+	 *            das Zeichen mit dem ein Rahmen endet
+	 * @return die Rahmen ohne Kanalzuordnung
+	 */
+	public List<SerialFrame> frame(SerialMessage message, String firstCharacter, String lastCharacter) {
+		String text = message.getText();
+		List<SerialFrame> frames = new ArrayList<SerialFrame>();
+		int start = text.indexOf(firstCharacter);
+		while (start >= 0 && start < text.length()) {
+			int end = text.indexOf(lastCharacter, start + firstCharacter.length());
+			if (end < 0) {
+				break;
+			}
+			frames.add(new SerialFrame(null, text.substring(start + firstCharacter.length(), end),
+					message.getArrivalNanos(start), message.getArrivalNanos(end)));
+			start = text.indexOf(firstCharacter, end + Math.max(1, lastCharacter.length()));
+		}
+		return frames;
+	}
+
+	/**
+	 * Ordnet die Werte der Rahmen den Kanälen zu. Werte ohne bekanntes Präfix
+	 * werden verworfen.
+	 *
+	 * @param frames
+	 *            die Rahmen aus {@link #frame(SerialMessage, String, String)}
+	 * @return die Werte je Kanal, das Präfix ist entfernt
+	 */
+	public List<SerialFrame> demultiplex(List<SerialFrame> frames) {
+		List<SerialFrame> channelFrames = new ArrayList<SerialFrame>();
+		for (SerialFrame frame : frames) {
+			String[] fields = StringUtils.isEmpty(separator) ? new String[] { frame.getValue() }
+					: StringUtils.splitByWholeSeparator(frame.getValue(), separator);
+			for (String field : fields) {
+				for (Map.Entry<String, String> channel : this.channelsByPrefix.entrySet()) {
+					if (field.startsWith(channel.getKey())) {
+						channelFrames.add(new SerialFrame(channel.getValue(), field.substring(channel.getKey().length()),
+								frame.getArrivedAt(), frame.getFramedAt()));
+						break;
+					}
+				}
+			}
+		}
+		return channelFrames;
+	}
+}
@@ -0,0 +1,97 @@
+package de.draegerit.microarduinoser;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import de.draegerit.microarduinoser.configuration.FilterConfiguration;
+
+/**
+ * Filter für die Werte eines Ports bzw. eines Kanals. Ein Wert wird
+ * unterdrückt wenn
+ * <ul>
+ * <li>seit dem letzten weitergegebenen Wert weniger als <i>minInterval</i>
+ * Millisekunden vergangen sind,</li>
+ * <li><i>changeOnly</i> gesetzt ist und sich der Wert nicht geändert hat,
+ * <i>oder</i></li>
+ * <li>die Änderung innerhalb von <i>deadband</i> bzw. <i>deadbandPercent</i>
+ * liegt.</li>
+ * </ul>
+ * Sind seit dem letzten weitergegebenen Wert mindestens <i>heartbeat</i>
+ * Millisekunden vergangen, wird der Wert in jedem Fall weitergegeben.
+ */
+public class FrameFilter {
+
+	private final FilterConfiguration configuration;
+
+	/**
+	 * Der zuletzt weitergegebene Wert.
+	 **/
+	private String lastValue;
+
+	/**
+	 * Ankunftszeitpunkt ({@link System#nanoTime()}) des zuletzt
+	 * weitergegebenen Wertes.
+	 **/
+	private long lastArrivedAt;
+
+	public FrameFilter(FilterConfiguration configuration) {
+		this.configuration = configuration;
+	}
+
+	/**
+	 * Prüft ob der Wert weitergegeben werden soll und merkt sich diesen ggf.
+	 *
+	 * @param value
+	 *            der empfangene Wert
+	 * @param arrivedAt
+	 *            der Ankunftszeitpunkt ({@link System#nanoTime()}) des Wertes
+	 * @return <code>true</code> wenn der Wert weitergegeben werden soll
+	 */
+	public synchronized boolean accept(String value, long arrivedAt) {
+		if (lastValue == null || isHeartbeatDue(arrivedAt) || !isSuppressed(value, arrivedAt)) {
+			lastValue = value;
+			lastArrivedAt = arrivedAt;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean isHeartbeatDue(long arrivedAt) {
+		return configuration.getHeartbeat() > 0 && elapsedMillis(arrivedAt) >= configuration.getHeartbeat();
+	}
+
+	private boolean isSuppressed(String value, long arrivedAt) {
+		if (configuration.getMinInterval() > 0 && elapsedMillis(arrivedAt) < configuration.getMinInterval()) {
+			return true;
+		}
+		if (configuration.isChangeOnly() && value.equals(lastValue)) {
+			return true;
+		}
+		return isWithinDeadband(value);
+	}
+
+	private boolean isWithinDeadband(String value) {
+		if (configuration.getDeadband() <= 0 && configuration.getDeadbandPercent() <= 0) {
+			return false;
+		}
+		String current = value.trim();
+		String last = lastValue.trim();
+		if (!NumberUtils.isParsable(current) || !NumberUtils.isParsable(last)) {
+			// nicht numerische Werte werden nur bei einer Änderung weitergegeben
+			return current.equals(last);
+		}
+		double currentNumber = NumberUtils.toDouble(current);
+		double lastNumber = NumberUtils.toDouble(last);
+		double change = Math.abs(currentNumber - lastNumber);
+		if (configuration.getDeadband() > 0 && change <= configuration.getDeadband()) {
+			return true;
+		}
+		return configuration.getDeadbandPercent() > 0
+				&& change <= Math.abs(lastNumber) * configuration.getDeadbandPercent() / 100.0;
+	}
+
+	private long elapsedMillis(long arrivedAt) {
+		return TimeUnit.NANOSECONDS.toMillis(arrivedAt - lastArrivedAt);
+	}
+}
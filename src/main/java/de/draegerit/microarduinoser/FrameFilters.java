@@ -0,0 +1,90 @@
+package de.draegerit.microarduinoser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+import de.draegerit.microarduinoser.configuration.FilterConfiguration;
+
+/**
+ * Wendet die konfigurierten {@link FrameFilter} auf die Rahmen an, bevor diese
+ * im Cache abgelegt werden. Ein Filter für einen Kanal (<i>port/kanal</i>) hat
+ * Vorrang vor einem Filter für den Port. Die Anzahl der empfangenen,
+ * weitergegebenen und unterdrückten Rahmen wird unter <i>frames.*</i> in der
+ * {@link MetricRegistry} erfasst, die Werte der Kanäle getrennt davon unter
+ * <i>channels.&lt;kanal&gt;.*</i>.
+ */
+public class FrameFilters {
+
+	private final Map<String, FilterConfiguration> configurations;
+
+	private final ConcurrentMap<String, FrameFilter> filters = new ConcurrentHashMap<String, FrameFilter>();
+
+	private final MetricRegistry registry;
+
+	private final Meter received;
+
+	private final Meter emitted;
+
+	private final Meter suppressed;
+
+	public FrameFilters(Map<String, FilterConfiguration> configurations, MetricRegistry registry) {
+		this.configurations = configurations;
+		this.registry = registry;
+		this.received = registry.meter(MetricRegistry.name("frames", "received"));
+		this.emitted = registry.meter(MetricRegistry.name("frames", "emitted"));
+		this.suppressed = registry.meter(MetricRegistry.name("frames", "suppressed"));
+	}
+
+	/**
+	 * Prüft ob der Rahmen weitergegeben werden soll.
+	 *
+	 * @param portname
+	 *            der Portname
+	 * @param frame
+	 *            der Rahmen
+	 * @return <code>true</code> wenn der Rahmen im Cache abgelegt werden soll
+	 */
+	public boolean accept(String portname, SerialFrame frame) {
+		String channel = frame.getChannel();
+		meter(channel, received, "received").mark();
+		FrameFilter filter = getFilter(portname, channel);
+		if (filter == null || filter.accept(frame.getValue(), frame.getArrivedAt())) {
+			meter(channel, emitted, "emitted").mark();
+			return true;
+		}
+		meter(channel, suppressed, "suppressed").mark();
+		return false;
+	}
+
+	/**
+	 * Liefert für einen Rahmen ohne Kanal den Zähler der Rahmen, andernfalls
+	 * den Zähler des Kanals.
+	 */
+	private Meter meter(String channel, Meter frameMeter, String name) {
+		return channel == null ? frameMeter : registry.meter(MetricRegistry.name("channels", channel, name));
+	}
+
+	private FrameFilter getFilter(String portname, String channel) {
+		String key = SerialValueCache.key(portname, channel);
+		FrameFilter filter = filters.get(key);
+		if (filter == null) {
+			FilterConfiguration configuration = configurations.get(key);
+			if (configuration == null && channel != null) {
+				configuration = configurations.get(portname);
+			}
+			if (configuration == null) {
+				return null;
+			}
+			FrameFilter created = new FrameFilter(configuration);
+			filter = filters.putIfAbsent(key, created);
+			if (filter == null) {
+				filter = created;
+			}
+		}
+		return filter;
+	}
+}
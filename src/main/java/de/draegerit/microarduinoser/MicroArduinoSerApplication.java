@@ -10,6 +10,9 @@ import javax.servlet.FilterRegistration;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
 
 import de.draegerit.microarduinoser.configuration.MicroArduinoSerConfiguration;
+import de.draegerit.microarduinoser.metrics.LatencyHistograms;
+import de.draegerit.microarduinoser.metrics.LatencyServlet;
+import de.draegerit.microarduinoser.metrics.LatencyWriterInterceptor;
 import io.dropwizard.Application;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
@@ -22,6 +25,7 @@ public class MicroArduinoSerApplication extends Application<MicroArduinoSerConfi
 
 	@Override
 	public void run(MicroArduinoSerConfiguration configuration, Environment environment) throws Exception {
+		final LatencyHistograms latencyHistograms = new LatencyHistograms(environment.metrics());
 		final Resource resource = new Resource(
 								configuration.getPortname(),
 								configuration.getBaudrate(),
@@ -30,9 +34,17 @@ public class MicroArduinoSerApplication extends Application<MicroArduinoSerConfi
 								configuration.getParity(),
 								configuration.getSleep(),
 								configuration.getFirstCharacter(),
-								configuration.getLastCharacter()
+								configuration.getLastCharacter(),
+								configuration.getMaxAge(),
+								new ChannelDemultiplexer(configuration.getChannels(), configuration.getChannelSeparator()),
+								new FrameFilters(configuration.getFilters(), environment.metrics()),
+								new SerialValueCache(configuration.getHistorySize()),
+								latencyHistograms,
+								new AdmissionControl(configuration.getAdmission(), environment.metrics())
 								);
 		environment.jersey().register(resource);
+		environment.jersey().register(new LatencyWriterInterceptor(latencyHistograms));
+		environment.admin().addServlet("latency", new LatencyServlet(latencyHistograms)).addMapping("/latency");
 		addCors(environment);
 	}
 
@@ -1,14 +1,24 @@
 package de.draegerit.microarduinoser;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.BadRequestException;
 import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 
 import com.codahale.metrics.annotation.Timed;
 import com.google.common.base.Optional;
 
+import de.draegerit.microarduinoser.metrics.LatencyHistograms;
 import jssc.SerialPortException;
 
 @Path("/arduino")
@@ -24,8 +34,15 @@ public class Resource {
 	
 	private String firstCharacter;
 	private String lastCharacter;
+	private int maxAge;
+	
+	private ChannelDemultiplexer demultiplexer;
+	private FrameFilters filters;
+	private SerialValueCache cache;
+	private LatencyHistograms latencyHistograms;
+	private AdmissionControl admissionControl;
 	
-	public Resource(String portname, int baudrate, int databits, int stopbits, int parity, int sleep, String firstCharacter, String lastCharacter) {
+	public Resource(String portname, int baudrate, int databits, int stopbits, int parity, int sleep, String firstCharacter, String lastCharacter, int maxAge, ChannelDemultiplexer demultiplexer, FrameFilters filters, SerialValueCache cache, LatencyHistograms latencyHistograms, AdmissionControl admissionControl) {
 		super();
 		this.portname = portname;
 		this.baudrate = baudrate;
@@ -35,6 +52,12 @@ public class Resource {
 		this.sleep = sleep;
 		this.firstCharacter = firstCharacter;
 		this.lastCharacter = lastCharacter;
+		this.maxAge = maxAge;
+		this.demultiplexer = demultiplexer;
+		this.filters = filters;
+		this.cache = cache;
+		this.latencyHistograms = latencyHistograms;
+		this.admissionControl = admissionControl;
 	}
 
 	@GET
@@ -47,25 +70,192 @@ public class Resource {
 					@QueryParam("parity") Optional<Integer> parity,
 					@QueryParam("sleep") Optional<Integer> sleep,
 					@QueryParam("firstCharacter") Optional<String> firstCharacter,
-					@QueryParam("lastCharacter") Optional<String> lastCharacter) throws SerialPortException, InterruptedException {
-		return new SerialValue(System.currentTimeMillis(), readSerialValue(
-													portname.or(this.portname),
+					@QueryParam("lastCharacter") Optional<String> lastCharacter,
+					@Context HttpServletRequest request) throws SerialPortException, InterruptedException {
+		String port = portname.or(this.portname);
+		String key = SerialValueCache.key(port, null);
+		long readStartedAt = System.nanoTime();
+		List<SerialValue> values = readSerialValues(
+													request.getRemoteAddr(),
+													port,
+													null,
+													baudrate.or(this.baudrate),
+													databits.or(this.databits),
+													stopbits.or(this.stopbits),
+													parity.or(this.parity),
+													sleep.or(this.sleep),
+													firstCharacter.or(this.firstCharacter),
+													lastCharacter.or(this.lastCharacter));
+		if (!values.isEmpty()) {
+			return values.get(0);
+		}
+		// wurden Rahmen empfangen aber alle gefiltert, gilt der zuletzt
+		// weitergegebene Wert, ohne empfangenen Rahmen gibt es keinen Wert
+		SerialValue value = isSeenSince(key, readStartedAt) ? cache.get(key) : null;
+		if (value == null) {
+			throw new NotFoundException("no value received on " + port);
+		}
+		return value;
+	}
+
+	/**
+	 * Liefert den letzten Wert des Kanals. Wurde der Kanal innerhalb von
+	 * <i>maxAge</i> Millisekunden empfangen, wird der Wert aus dem Cache
+	 * geliefert, andernfalls wird der Port gelesen und der Wert geliefert,
+	 * sofern der Kanal während des Lesevorgangs empfangen wurde. Der Portname darf
+	 * Schrägstriche enthalten, zbsp. <code>/arduino/dev/ttyUSB0/temperature</code>.
+	 */
+	@GET
+	@Timed
+	@Path("{port: .+}/{channel}")
+	public SerialValue getChannel(
+					@PathParam("port") String port,
+					@PathParam("channel") String channel,
+					@QueryParam("baudrate") Optional<Integer> baudrate,
+					@QueryParam("databits") Optional<Integer> databits,
+					@QueryParam("stopbits") Optional<Integer> stopbits,
+					@QueryParam("parity") Optional<Integer> parity,
+					@QueryParam("sleep") Optional<Integer> sleep,
+					@QueryParam("firstCharacter") Optional<String> firstCharacter,
+					@QueryParam("lastCharacter") Optional<String> lastCharacter,
+					@Context HttpServletRequest request) throws SerialPortException, InterruptedException {
+		checkChannel(channel);
+		String portname = toPortname(port);
+		String key = SerialValueCache.key(portname, channel);
+		SerialValue value = getFreshValue(key);
+		if (value != null) {
+			return value;
+		}
+		long readStartedAt = System.nanoTime();
+		readSerialValues(
+													request.getRemoteAddr(),
+													portname,
+													key,
 													baudrate.or(this.baudrate),
 													databits.or(this.databits),
 													stopbits.or(this.stopbits),
 													parity.or(this.parity),
 													sleep.or(this.sleep),
 													firstCharacter.or(this.firstCharacter),
-													lastCharacter.or(this.lastCharacter)));
+													lastCharacter.or(this.lastCharacter));
+		// ein Lesevorgang hält den Port länger als maxAge, daher gilt jeder
+		// währenddessen empfangene Wert, maxAge nur falls nicht gelesen wurde
+		value = isSeenSince(key, readStartedAt) ? cache.get(key) : getFreshValue(key);
+		if (value == null) {
+			throw new NotFoundException("no value received on " + key);
+		}
+		return value;
+	}
+
+	@GET
+	@Timed
+	@Path("{port: .+}/{channel}/history")
+	public List<SerialValue> getChannelHistory(
+					@PathParam("port") String port,
+					@PathParam("channel") String channel) {
+		checkChannel(channel);
+		return cache.getHistory(SerialValueCache.key(toPortname(port), channel));
+	}
+
+	/**
+	 * Ergänzt den führenden Schrägstrich eines POSIX Portnamens, welcher beim
+	 * Zerlegen des Pfades verloren geht.
+	 */
+	private String toPortname(String port) {
+		return port.contains("/") && !port.startsWith("/") ? "/" + port : port;
+	}
+
+	/**
+	 * Liefert den zuletzt abgelegten Wert, sofern der Kanal innerhalb von
+	 * <i>maxAge</i> Millisekunden empfangen wurde. Ein gefilterter Wert gilt
+	 * dabei als Bestätigung des zuletzt abgelegten Wertes.
+	 */
+	private SerialValue getFreshValue(String key) {
+		Long seenAt = cache.getSeenAt(key);
+		if (seenAt == null || System.nanoTime() - seenAt > TimeUnit.MILLISECONDS.toNanos(maxAge)) {
+			return null;
+		}
+		return cache.get(key);
+	}
+
+	/**
+	 * Prüft ob der Kanal seit dem Zeitpunkt ({@link System#nanoTime()})
+	 * empfangen wurde.
+	 */
+	private boolean isSeenSince(String key, long since) {
+		Long seenAt = cache.getSeenAt(key);
+		return seenAt != null && seenAt - since >= 0;
+	}
+
+	private void checkChannel(String channel) {
+		if (!demultiplexer.hasChannel(channel)) {
+			throw new NotFoundException("unknown channel " + channel);
+		}
+	}
+
+	/**
+	 * Ließt den Port einmalig sofern die {@link AdmissionControl} den Client
+	 * zulässt und die Begrenzungszeichen nicht leer sind, legt alle nicht
+	 * gefilterten Rahmen sowie die Werte aller Kanäle im Cache ab und liefert
+	 * die Werte der abgelegten Rahmen in der Reihenfolge des Empfangs. Die
+	 * Wartezeit <i>sleep</i> wird auf <i>maxSleep</i> begrenzt. Ist der Wert zu
+	 * <i>freshKey</i> nach dem Warten auf den Port aktuell, weil ein anderer
+	 * Lesevorgang diesen bereits abgelegt hat, wird der Port nicht gelesen.
+	 */
+	private List<SerialValue> readSerialValues(String client, String portname, String freshKey, int baudrate, int databits, int stopbits, int parity, int sleep, String firstCharacter, String lastCharacter) throws SerialPortException, InterruptedException {
+		 if (firstCharacter.isEmpty() || lastCharacter.isEmpty()) {
+			 throw new BadRequestException("firstCharacter and lastCharacter must not be empty");
+		 }
+		 SerialMessage message;
+		 sleep = admissionControl.limitSleep(sleep);
+		 // der Port wird beim Lesen und beim Schließen je sleep Millisekunden belegt
+		 admissionControl.acquire(portname, client, 2L * sleep);
+		 try {
+			 if (freshKey != null && getFreshValue(freshKey) != null) {
+				 return new ArrayList<SerialValue>();
+			 }
+			 message = readMessage(portname, baudrate, databits, stopbits, parity, sleep);
+		 } finally {
+			 admissionControl.release(portname);
+		 }
+		 List<SerialFrame> frames = demultiplexer.frame(message, firstCharacter, lastCharacter);
+		 List<SerialValue> values = new ArrayList<SerialValue>();
+		 for (SerialFrame frame : frames) {
+			 cache.markSeen(SerialValueCache.key(portname, null), frame.getArrivedAt());
+			 latencyHistograms.recordArrivalToFrame(frame.getFramedAt() - frame.getArrivedAt());
+			 if (filters.accept(portname, frame)) {
+				 SerialValue value = cache(portname, frame);
+				 latencyHistograms.recordFrameToCache(value.getCachedAt() - frame.getFramedAt());
+				 values.add(value);
+			 }
+		 }
+		 for (SerialFrame frame : demultiplexer.demultiplex(frames)) {
+			 cache.markSeen(SerialValueCache.key(portname, frame.getChannel()), frame.getArrivedAt());
+			 if (filters.accept(portname, frame)) {
+				 cache(portname, frame);
+			 }
+		 }
+		return values;
+	}
+
+	/**
+	 * Öffnet den Port, ließt die Zeichen während <i>sleep</i> Millisekunden
+	 * und schließt den Port wieder.
+	 */
+	SerialMessage readMessage(String portname, int baudrate, int databits, int stopbits, int parity, int sleep) throws SerialPortException, InterruptedException {
+		SerialCommunication serialCommunication = new SerialCommunication.SerialCommunicationBuilder(portname).setSerialPortParameter(baudrate, databits, stopbits, parity).setSleepForClosePortEvent(sleep).build();
+		serialCommunication.openPort();
+		try {
+			return serialCommunication.readMessage();
+		} finally {
+			// der Port muss auch nach einem Fehler geschlossen werden,
+			// sonst schlagen alle folgenden Lesevorgänge fehl
+			serialCommunication.closePort();
+		}
 	}
 
-	private String readSerialValue(String portname, int baudrate, int databits, int stopbits, int parity, int sleep, String firstCharacter, String lastCharacter) throws SerialPortException, InterruptedException {
-		 SerialCommunication serialCommunication = new SerialCommunication.SerialCommunicationBuilder(portname).setSerialPortParameter(baudrate, databits, stopbits, parity).setSleepForClosePortEvent(sleep).build();
-		 serialCommunication.openPort();
-		 String readString = serialCommunication.readString();
-		 serialCommunication.closePort();
-		 String sub = readString.substring((readString.indexOf(firstCharacter)+1), readString.indexOf(lastCharacter));
-		return sub;
+	private SerialValue cache(String portname, SerialFrame frame) {
+		return cache.put(SerialValueCache.key(portname, frame.getChannel()), new SerialValue(ArrivalClock.toEpochMillis(frame.getArrivedAt()), frame.getValue()));
 	}
 
 }
\ No newline at end of file
@@ -163,6 +163,11 @@ public final class SerialCommunication {
 	 * Membervariable für den {@link SerialCommunicationPort}.
 	 */
 	private SerialCommunicationPort serialPort;
+	/**
+	 * Der Empfänger des letzten Lesevorgangs, bleibt bis zum Schließen des
+	 * Ports registriert.
+	 */
+	private SerialEventSubscriber reader;
 	/**
 	 * Logger für die Ausgabe von Exceptions auf der Konsole.
 	 **/
@@ -222,7 +227,8 @@ public final class SerialCommunication {
 		} catch (InterruptedException e) {
 			logger.log(Level.WARNING, e.getMessage());
 		}
-		// Schließt den Port.
+		// Schließt den Port, dabei werden alle Empfänger entfernt.
+		this.reader = null;
 		this.serialPort.closePort();
 	}
 
@@ -248,25 +254,9 @@ public final class SerialCommunication {
 	 *             </ul>
 	 */
 	public boolean writeString(final String value) throws SerialPortException {
-		final boolean[] writeResult = { false };
-		// Die Methode #SerialPort.addEventListener erzeugt bei mehr als 1
-		// registrierten
-		// SerialPortEventListener eine Exception damit dieses hier nicht zu
-		// einen abbruch führt
-		// wird die Aktion nur ausgeführt wenn 1 registriertes Event existiert.
-		if (this.serialPort.getRegisteredEventListener().size() == 0) {
-			this.serialPort.addEventListener(new SerialPortEventListener() {
-
-				public void serialEvent(final SerialPortEvent serialPortEvent) {
-					try {
-						writeResult[0] = serialPort.writeString(value);
-					} catch (SerialPortException e) {
-						logger.log(Level.WARNING, e.getMessage());
-					}
-				}
-			});
-		}
-		return writeResult[0];
+		// Es wird direkt geschrieben, ein Listener wird hierfür nicht
+		// benötigt. Somit kann parallel ein Lesevorgang registriert sein.
+		return this.serialPort.writeString(value);
 	}
 
 	/**
@@ -277,31 +267,63 @@ public final class SerialCommunication {
 	 * @throws InterruptedException
 	 */
 	public final String readString() throws SerialPortException, InterruptedException {
-		final StringBuffer message = new StringBuffer();
-		if (this.serialPort.getRegisteredEventListener().size() == 0) {
-			this.serialPort.addEventListener(new SerialPortEventListener() {
-
-				public synchronized void serialEvent(final SerialPortEvent event) {
-					if (event.isRXCHAR() && event.getEventValue() > 0) {
-						try {
-							boolean recivedComplete = false;
-							byte buffer[] = serialPort.readBytes();
-							for (byte b : buffer) {
-								if ((b == '\r' || b == '\n') && message.length() > 0) {
-									recivedComplete = true;
-								} else {
-									message.append((char) b);
-								}
-							}
-						} catch (SerialPortException ex) {
-							logger.log(Level.WARNING, ex.getMessage());
-						}
-					}
+		return readMessage().getText();
+	}
+
+	/**
+	 * Ließt die empfangenen Zeichen inklusive der Ankunftszeitpunkte und
+	 * liefert diese zurück. Der Ankunftszeitpunkt wird beim Eintreffen des
+	 * Events gemessen, nicht erst nach Ablauf der Wartezeit. Die
+	 * {@link SerialMessage} wird bis zum Aufruf von {@link #closePort()} bzw.
+	 * bis zum nächsten Lesevorgang weiter ergänzt.
+	 *
+	 * @return die empfangenen Zeichen als {@link SerialMessage}
+	 * @throws SerialPortException
+	 * @throws InterruptedException
+	 */
+	public final SerialMessage readMessage() throws SerialPortException, InterruptedException {
+		final SerialMessage message = new SerialMessage();
+		final SerialEventSubscriber reader = new SerialEventSubscriber() {
+
+			public void serialEvent(final SerialPortEvent event, final byte[] data, final long arrivedAt) {
+				if (data != null) {
+					message.append(data, arrivedAt);
 				}
-			});
+			}
+		};
+		if (this.reader != null) {
+			this.serialPort.unsubscribe(this.reader);
 		}
+		this.serialPort.subscribe(reader, SerialPort.MASK_RXCHAR);
+		this.reader = reader;
 		Thread.sleep(sleep);
-		return message.toString();
+		return message;
+	}
+
+	/**
+	 * Registriert einen zusätzlichen Empfänger auf dem geöffneten Port, zbsp.
+	 * für Metriken oder eine Aufzeichnung.
+	 *
+	 * @param subscriber
+	 *            der Empfänger
+	 * @param mask
+	 *            die Maske, zbsp. {@link SerialPort#MASK_RXCHAR}
+	 * @throws SerialPortException
+	 *             wenn der Port nicht geöffnet ist
+	 */
+	public void subscribe(final SerialEventSubscriber subscriber, final int mask) throws SerialPortException {
+		this.serialPort.subscribe(subscriber, mask);
+	}
+
+	/**
+	 * Entfernt einen mit {@link #subscribe(SerialEventSubscriber, int)}
+	 * registrierten Empfänger.
+	 *
+	 * @param subscriber
+	 *            der Empfänger
+	 */
+	public void unsubscribe(final SerialEventSubscriber subscriber) {
+		this.serialPort.unsubscribe(subscriber);
 	}
 
 	/**
@@ -379,9 +401,21 @@ public final class SerialCommunication {
 	}
 
 	/**
-	 * Klasse SerialCommunicationPort. Erweitert die Klasse SerialPort um die
-	 * Methoden
+	 * Klasse SerialCommunicationPort. Erweitert die Klasse SerialPort um eine
+	 * threadsichere Liste von Empfängern ({@link SerialEventDispatcher}). Beim
+	 * {@link SerialPort} wird nur ein einziger {@link SerialPortEventListener}
+	 * registriert, welcher jedes Event an alle Empfänger verteilt deren Maske
+	 * das Event enthält. Die Bytes eines {@link SerialPortEvent#RXCHAR} Events
+	 * werden dabei nur einmal gelesen und nur dann, wenn ein Empfänger diese
+	 * Events erhält. Somit können mehrere Lese- und Schreibvorgänge gleichzeitig
+	 * auf einem geöffneten Port registriert sein.
+	 * <p>
+	 * Erweitert die Klasse SerialPort um die Methoden
 	 * <ul>
+	 * <li>{@link SerialCommunicationPort#subscribe(SerialEventSubscriber, int)}
+	 * </li>
+	 * <li>{@link SerialCommunicationPort#unsubscribe(SerialEventSubscriber)}
+	 * </li>
 	 * <li>{@link SerialCommunicationPort#getRegisteredEventListener}</li>
 	 * <li>
 	 * {@link SerialCommunicationPort#removeEventListener(SerialPortEventListener eventListener)}
@@ -396,8 +430,13 @@ public final class SerialCommunication {
 	 * <li>
 	 * {@link SerialCommunicationPort#addEventListener(SerialPortEventListener listener, int mask)}
 	 * </li>
+	 * <li>{@link SerialCommunicationPort#readBytes()}</li>
+	 * <li>{@link SerialCommunicationPort#readString()}</li>
 	 * <li>{@link SerialCommunicationPort#closePort()}</li>
 	 * </ul>
+	 * Ein über <code>addEventListener</code> registrierter
+	 * {@link SerialPortEventListener} erhält die bereits gelesenen Bytes eines
+	 * Events beim Aufruf von {@link #readBytes()} bzw. {@link #readString()}.
 	 */
 	public static class SerialCommunicationPort extends SerialPort {
 
@@ -412,9 +451,80 @@ public final class SerialCommunication {
 		}
 
 		/**
-		 * Liste mit den Registrierten SerialPortEventListener.
+		 * Die registrierten Empfänger.
+		 **/
+		private final SerialEventDispatcher dispatcher = new SerialEventDispatcher();
+
+		/**
+		 * Die beim {@link SerialPort} gesetzte Maske oder -1 wenn der
+		 * Verteiler noch nicht registriert ist.
+		 **/
+		private int eventsMask = -1;
+
+		/**
+		 * Die vom Verteiler gelesenen Bytes für den gerade aufgerufenen
+		 * {@link SerialPortEventListener}.
+		 **/
+		private final ThreadLocal<byte[]> dispatchedData = new ThreadLocal<byte[]>();
+
+		/**
+		 * Der beim {@link SerialPort} registrierte Verteiler.
 		 **/
-		private final List<SerialPortEventListener> registeredEventListener = new ArrayList<SerialPortEventListener>();
+		private final SerialPortEventListener listener = new SerialPortEventListener() {
+
+			public void serialEvent(final SerialPortEvent event) {
+				final long arrivedAt = System.nanoTime();
+				byte[] data = null;
+				// die Bytes bleiben im Puffer solange kein Empfänger diese erhält
+				if (event.isRXCHAR() && event.getEventValue() > 0 && (dispatcher.getMask() & MASK_RXCHAR) != 0) {
+					try {
+						data = SerialCommunicationPort.super.readBytes();
+					} catch (SerialPortException ex) {
+						logger.log(Level.WARNING, ex.getMessage());
+					}
+				}
+				dispatcher.dispatch(event, data, arrivedAt);
+			}
+		};
+
+		/**
+		 * Liefert den Verteiler mit den registrierten Empfängern.
+		 *
+		 * @return der {@link SerialEventDispatcher}
+		 */
+		final SerialEventDispatcher getDispatcher() {
+			return this.dispatcher;
+		}
+
+		/**
+		 * Registriert einen Empfänger für die Events der Maske. Der Empfänger
+		 * wird erst hinzugefügt wenn die Maske beim {@link SerialPort} gesetzt
+		 * werden konnte.
+		 *
+		 * @param subscriber
+		 *            der Empfänger
+		 * @param mask
+		 *            die Maske, zbsp. {@link SerialPort#MASK_RXCHAR}
+		 * @throws SerialPortException
+		 *             wenn der Port nicht geöffnet ist
+		 */
+		public final synchronized void subscribe(final SerialEventSubscriber subscriber, final int mask)
+				throws SerialPortException {
+			updateEventsMask(this.dispatcher.getMask() | mask);
+			this.dispatcher.add(subscriber, mask);
+		}
+
+		/**
+		 * Entfernt einen registrierten Empfänger und verkleinert ggf. die
+		 * Maske.
+		 *
+		 * @param subscriber
+		 *            der Empfänger
+		 */
+		public final synchronized void unsubscribe(final SerialEventSubscriber subscriber) {
+			this.dispatcher.remove(subscriber);
+			shrinkEventsMask();
+		}
 
 		/**
 		 * Liefert eine {@link java.util.List} mit den registrierten
@@ -424,7 +534,13 @@ public final class SerialCommunication {
 		 *         {@link SerialPortEventListener}.
 		 */
 		public final List<SerialPortEventListener> getRegisteredEventListener() {
-			return registeredEventListener;
+			final List<SerialPortEventListener> listeners = new ArrayList<SerialPortEventListener>();
+			for (SerialEventSubscriber subscriber : this.dispatcher.getSubscribers()) {
+				if (subscriber instanceof ListenerSubscriber) {
+					listeners.add(((ListenerSubscriber) subscriber).listener);
+				}
+			}
+			return listeners;
 		}
 
 		/**
@@ -435,27 +551,136 @@ public final class SerialCommunication {
 		 *            - der {@link SerialPortEventListener} vom
 		 *            {@link SerialPort} welcher entfernt werden soll.
 		 */
-		public final void removeEventListener(final SerialPortEventListener eventListener) {
-			this.registeredEventListener.remove(eventListener);
+		public final synchronized void removeEventListener(final SerialPortEventListener eventListener) {
+			for (SerialEventSubscriber subscriber : this.dispatcher.getSubscribers()) {
+				if (subscriber instanceof ListenerSubscriber
+						&& ((ListenerSubscriber) subscriber).listener == eventListener) {
+					this.dispatcher.remove(subscriber);
+				}
+			}
+			shrinkEventsMask();
 		}
 
+		/**
+		 * Registriert den {@link SerialPortEventListener} für
+		 * {@link SerialPort#MASK_RXCHAR} Events.
+		 */
 		@Override
 		public final void addEventListener(final SerialPortEventListener listener) throws SerialPortException {
-			super.addEventListener(listener);
-			this.registeredEventListener.add(listener);
+			addEventListener(listener, MASK_RXCHAR);
 		}
 
 		@Override
 		public final void addEventListener(final SerialPortEventListener listener, final int mask)
 				throws SerialPortException {
-			super.addEventListener(listener, mask);
-			this.registeredEventListener.add(listener);
+			subscribe(adapt(listener), mask);
+		}
+
+		/**
+		 * Liefert während der Zustellung eines Events an einen
+		 * {@link SerialPortEventListener} die bereits vom Verteiler gelesenen
+		 * Bytes, andernfalls die Bytes aus dem Eingangspuffer.
+		 */
+		@Override
+		public byte[] readBytes() throws SerialPortException {
+			final byte[] data = this.dispatchedData.get();
+			if (data != null) {
+				this.dispatchedData.remove();
+				return data;
+			}
+			return super.readBytes();
+		}
+
+		/**
+		 * Liefert während der Zustellung eines Events an einen
+		 * {@link SerialPortEventListener} die bereits vom Verteiler gelesenen
+		 * Zeichen, andernfalls die Zeichen aus dem Eingangspuffer.
+		 */
+		@Override
+		public String readString() throws SerialPortException {
+			final byte[] data = this.dispatchedData.get();
+			if (data != null) {
+				this.dispatchedData.remove();
+				return new String(data);
+			}
+			return super.readString();
 		}
 
 		@Override
 		public final boolean closePort() throws SerialPortException {
-			this.registeredEventListener.clear();
+			synchronized (this) {
+				this.dispatcher.clear();
+				this.eventsMask = -1;
+			}
 			return super.closePort();
 		}
+
+		/**
+		 * Liefert einen Empfänger welcher die Events an den
+		 * {@link SerialPortEventListener} weitergibt.
+		 *
+		 * @param eventListener
+		 *            der {@link SerialPortEventListener}
+		 * @return der Empfänger
+		 */
+		final SerialEventSubscriber adapt(final SerialPortEventListener eventListener) {
+			return new ListenerSubscriber(eventListener);
+		}
+
+		/**
+		 * Registriert den Verteiler beim ersten Empfänger und setzt danach ggf.
+		 * die Maske.
+		 */
+		private void updateEventsMask(final int mask) throws SerialPortException {
+			if (this.eventsMask == -1) {
+				super.addEventListener(this.listener, mask);
+				this.eventsMask = mask;
+			} else if (mask != this.eventsMask) {
+				setEventsMask(mask);
+				this.eventsMask = mask;
+			}
+		}
+
+		/**
+		 * Setzt die Maske auf die Vereinigung der verbliebenen Empfänger. Ohne
+		 * Empfänger bleibt die Maske bestehen, die Bytes werden dann nicht
+		 * gelesen und stehen dem nächsten Empfänger zur Verfügung.
+		 */
+		private void shrinkEventsMask() {
+			final int mask = this.dispatcher.getMask();
+			if (this.eventsMask == -1 || mask == 0 || !isOpened()) {
+				return;
+			}
+			try {
+				updateEventsMask(mask);
+			} catch (SerialPortException ex) {
+				logger.log(Level.WARNING, ex.getMessage());
+			}
+		}
+
+		/**
+		 * Empfänger für einen über
+		 * {@link SerialCommunicationPort#addEventListener(SerialPortEventListener, int)}
+		 * registrierten {@link SerialPortEventListener}.
+		 */
+		private final class ListenerSubscriber implements SerialEventSubscriber {
+
+			private final SerialPortEventListener listener;
+
+			private ListenerSubscriber(final SerialPortEventListener listener) {
+				this.listener = listener;
+			}
+
+			public void serialEvent(final SerialPortEvent event, final byte[] data, final long arrivedAt) {
+				if (data != null) {
+					dispatchedData.set(data.clone());
+				}
+				try {
+					this.listener.serialEvent(event);
+				} finally {
+					dispatchedData.remove();
+				}
+			}
+		}
 	}
 }
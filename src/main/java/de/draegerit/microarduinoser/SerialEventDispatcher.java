@@ -0,0 +1,127 @@
+package de.draegerit.microarduinoser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jssc.SerialPortEvent;
+
+/**
+ * Verteilt die Events eines seriellen Ports an alle registrierten
+ * {@link SerialEventSubscriber} deren Maske das Event enthält. Die Liste der
+ * Empfänger ist threadsicher und wird beim Verteilen ohne Sperre gelesen.
+ */
+public class SerialEventDispatcher {
+
+	/**
+	 * Logger für die Ausgabe von Exceptions der Empfänger.
+	 **/
+	private static Logger logger = Logger.getLogger("SerialEventDispatcher");
+
+	/**
+	 * Liste mit den registrierten Empfängern.
+	 **/
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+	/**
+	 * Registriert einen Empfänger für die Events der Maske.
+	 *
+	 * @param subscriber
+	 *            der Empfänger
+	 * @param mask
+	 *            die Maske, zbsp. {@link jssc.SerialPort#MASK_RXCHAR}
+	 */
+	public void add(final SerialEventSubscriber subscriber, final int mask) {
+		this.subscriptions.add(new Subscription(subscriber, mask));
+	}
+
+	/**
+	 * Entfernt einen registrierten Empfänger.
+	 *
+	 * @param subscriber
+	 *            der Empfänger
+	 */
+	public void remove(final SerialEventSubscriber subscriber) {
+		for (Subscription subscription : this.subscriptions) {
+			if (subscription.subscriber == subscriber) {
+				this.subscriptions.remove(subscription);
+			}
+		}
+	}
+
+	/**
+	 * Entfernt alle registrierten Empfänger.
+	 */
+	public void clear() {
+		this.subscriptions.clear();
+	}
+
+	/**
+	 * Liefert die Vereinigung der Masken aller registrierten Empfänger.
+	 *
+	 * @return die Maske oder 0 wenn kein Empfänger registriert ist
+	 */
+	public int getMask() {
+		int mask = 0;
+		for (Subscription subscription : this.subscriptions) {
+			mask |= subscription.mask;
+		}
+		return mask;
+	}
+
+	/**
+	 * Liefert die registrierten Empfänger in der Reihenfolge der
+	 * Registrierung.
+	 *
+	 * @return eine Kopie der Liste mit den Empfängern
+	 */
+	public List<SerialEventSubscriber> getSubscribers() {
+		final List<SerialEventSubscriber> subscribers = new ArrayList<SerialEventSubscriber>();
+		for (Subscription subscription : this.subscriptions) {
+			subscribers.add(subscription.subscriber);
+		}
+		return subscribers;
+	}
+
+	/**
+	 * Übergibt das Event an alle Empfänger deren Maske das Event enthält. Eine
+	 * Exception eines Empfängers wird protokolliert und verhindert nicht die
+	 * Zustellung an die übrigen Empfänger.
+	 *
+	 * @param event
+	 *            das Event
+	 * @param data
+	 *            die empfangenen Bytes bei einem {@link SerialPortEvent#RXCHAR}
+	 *            Event, andernfalls <code>null</code>
+	 * @param arrivedAt
+	 *            der Zeitpunkt ({@link System#nanoTime()}) des Events
+	 */
+	public void dispatch(final SerialPortEvent event, final byte[] data, final long arrivedAt) {
+		for (Subscription subscription : this.subscriptions) {
+			if ((subscription.mask & event.getEventType()) != 0) {
+				try {
+					subscription.subscriber.serialEvent(event, data, arrivedAt);
+				} catch (RuntimeException ex) {
+					logger.log(Level.WARNING, ex.getMessage(), ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ein registrierter Empfänger mit seiner Maske.
+	 */
+	private static final class Subscription {
+
+		private final SerialEventSubscriber subscriber;
+
+		private final int mask;
+
+		private Subscription(final SerialEventSubscriber subscriber, final int mask) {
+			this.subscriber = subscriber;
+			this.mask = mask;
+		}
+	}
+}
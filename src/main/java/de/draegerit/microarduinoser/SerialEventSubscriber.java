@@ -0,0 +1,27 @@
+package de.draegerit.microarduinoser;
+
+import jssc.SerialPortEvent;
+
+/**
+ * Empfänger für die Events eines
+ * {@link SerialCommunication.SerialCommunicationPort}. Bei einem
+ * {@link SerialPortEvent#RXCHAR} Event werden die empfangenen Bytes einmalig
+ * gelesen und an alle Empfänger übergeben, ein Empfänger darf die Bytes daher
+ * nicht selbst vom Port lesen.
+ */
+public interface SerialEventSubscriber {
+
+	/**
+	 * Wird für jedes Event aufgerufen, welches in der Maske des Empfängers
+	 * enthalten ist.
+	 *
+	 * @param event
+	 *            das Event
+	 * @param data
+	 *            die empfangenen Bytes bei einem {@link SerialPortEvent#RXCHAR}
+	 *            Event, andernfalls <code>null</code>
+	 * @param arrivedAt
+	 *            der Zeitpunkt ({@link System#nanoTime()}) des Events
+	 */
+	void serialEvent(SerialPortEvent event, byte[] data, long arrivedAt);
+}
@@ -0,0 +1,43 @@
+package de.draegerit.microarduinoser;
+
+/**
+ * Ein Rahmen, also der Text zwischen dem ersten und letzten Zeichen, mit den
+ * Ankunftszeitpunkten ({@link System#nanoTime()}) des ersten und letzten
+ * Zeichens.
+ */
+public class SerialFrame {
+
+	/**
+	 * Der Kanal oder <code>null</code> für einen nicht zugeordneten Rahmen.
+	 **/
+	private final String channel;
+
+	private final String value;
+
+	private final long arrivedAt;
+
+	private final long framedAt;
+
+	public SerialFrame(String channel, String value, long arrivedAt, long framedAt) {
+		this.channel = channel;
+		this.value = value;
+		this.arrivedAt = arrivedAt;
+		this.framedAt = framedAt;
+	}
+
+	public String getChannel() {
+		return channel;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public long getArrivedAt() {
+		return arrivedAt;
+	}
+
+	public long getFramedAt() {
+		return framedAt;
+	}
+}
@@ -0,0 +1,84 @@
+package de.draegerit.microarduinoser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Die über eine serielle Verbindung empfangenen Zeichen. Zu jedem
+ * empfangenen Block wird der Zeitpunkt ({@link System#nanoTime()}) gemerkt,
+ * an dem das erste Byte des Blocks angekommen ist, damit für jede Position im
+ * Text der Ankunftszeitpunkt ermittelt werden kann.
+ */
+public class SerialMessage {
+
+	/**
+	 * Der empfangene Text.
+	 **/
+	private final StringBuilder text = new StringBuilder();
+
+	/**
+	 * Startposition der empfangenen Blöcke im Text.
+	 **/
+	private final List<Integer> chunkOffsets = new ArrayList<Integer>();
+
+	/**
+	 * Ankunftszeitpunkte der empfangenen Blöcke in Nanosekunden.
+	 **/
+	private final List<Long> chunkArrivals = new ArrayList<Long>();
+
+	/**
+	 * Hängt die empfangenen Bytes an den Text an. Zeilenumbrüche werden
+	 * verworfen sobald bereits Zeichen empfangen wurden.
+	 *
+	 * @param buffer
+	 *            die empfangenen Bytes
+	 * @param arrivedAt
+	 *            der Ankunftszeitpunkt ({@link System#nanoTime()}) der Bytes
+	 */
+	public synchronized void append(final byte[] buffer, final long arrivedAt) {
+		final int offset = this.text.length();
+		for (byte b : buffer) {
+			if ((b == '\r' || b == '\n') && this.text.length() > 0) {
+				continue;
+			}
+			this.text.append((char) b);
+		}
+		if (this.text.length() > offset) {
+			this.chunkOffsets.add(offset);
+			this.chunkArrivals.add(arrivedAt);
+		}
+	}
+
+	/**
+	 * Liefert den Ankunftszeitpunkt ({@link System#nanoTime()}) des Zeichens
+	 * an der übergebenen Position.
+	 *
+	 * @param index
+	 *            die Position im Text
+	 * @return der Ankunftszeitpunkt in Nanosekunden
+	 */
+	public synchronized long getArrivalNanos(final int index) {
+		if (this.chunkOffsets.isEmpty()) {
+			throw new IndexOutOfBoundsException("no data received");
+		}
+		int chunk = 0;
+		while (chunk + 1 < this.chunkOffsets.size() && this.chunkOffsets.get(chunk + 1) <= index) {
+			chunk++;
+		}
+		return this.chunkArrivals.get(chunk);
+	}
+
+	/**
+	 * Liefert den empfangenen Text.
+	 *
+	 * @return der empfangene Text
+	 */
+	public synchronized String getText() {
+		return this.text.toString();
+	}
+
+	@Override
+	public String toString() {
+		return getText();
+	}
+}
@@ -1,5 +1,6 @@
 package de.draegerit.microarduinoser;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class SerialValue {
@@ -8,6 +9,8 @@ public class SerialValue {
 
 	private String value;
 
+	private long cachedAt;
+
 	public SerialValue() {
 		// Jackson deserialization
 	}
@@ -26,4 +29,13 @@ public class SerialValue {
 	public String getValue() {
 		return value;
 	}
+
+	@JsonIgnore
+	public long getCachedAt() {
+		return cachedAt;
+	}
+
+	void setCachedAt(long cachedAt) {
+		this.cachedAt = cachedAt;
+	}
 }
@@ -0,0 +1,134 @@
+package de.draegerit.microarduinoser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Hält den zuletzt gelesenen {@link SerialValue} sowie einen begrenzten
+ * Verlauf je Port bzw. je Kanal eines Ports.
+ */
+public class SerialValueCache {
+
+	/**
+	 * Die maximale Anzahl an Werten im Verlauf.
+	 **/
+	private final int historySize;
+
+	private final ConcurrentMap<String, Deque<SerialValue>> histories = new ConcurrentHashMap<String, Deque<SerialValue>>();
+
+	/**
+	 * Ankunftszeitpunkt ({@link System#nanoTime()}) des zuletzt empfangenen
+	 * Wertes, auch wenn dieser gefiltert wurde.
+	 **/
+	private final ConcurrentMap<String, Long> seenAt = new ConcurrentHashMap<String, Long>();
+
+	public SerialValueCache(int historySize) {
+		this.historySize = historySize;
+	}
+
+	/**
+	 * Liefert den Schlüssel für einen Kanal eines Ports.
+	 *
+	 * @param portname
+	 *            der Portname
+	 * @param channel
+	 *            der Kanal oder <code>null</code> für den Port selbst
+	 * @return der Schlüssel
+	 */
+	public static String key(String portname, String channel) {
+		return channel == null ? portname : portname + "/" + channel;
+	}
+
+	/**
+	 * Legt den {@link SerialValue} im Cache ab und merkt sich den Zeitpunkt
+	 * ({@link System#nanoTime()}) der Ablage.
+	 *
+	 * @param key
+	 *            der Schlüssel aus {@link #key(String, String)}
+	 * @param value
+	 *            der gelesene Wert
+	 * @return der abgelegte Wert
+	 */
+	public SerialValue put(String key, SerialValue value) {
+		value.setCachedAt(System.nanoTime());
+		Deque<SerialValue> history = histories.get(key);
+		if (history == null) {
+			Deque<SerialValue> created = new ArrayDeque<SerialValue>();
+			history = histories.putIfAbsent(key, created);
+			if (history == null) {
+				history = created;
+			}
+		}
+		synchronized (history) {
+			history.addLast(value);
+			while (history.size() > historySize) {
+				history.removeFirst();
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Merkt sich den Ankunftszeitpunkt eines empfangenen Wertes, unabhängig
+	 * davon ob dieser abgelegt oder gefiltert wird.
+	 *
+	 * @param key
+	 *            der Schlüssel aus {@link #key(String, String)}
+	 * @param arrivedAt
+	 *            der Ankunftszeitpunkt ({@link System#nanoTime()})
+	 */
+	public void markSeen(String key, long arrivedAt) {
+		seenAt.put(key, arrivedAt);
+	}
+
+	/**
+	 * Liefert den Ankunftszeitpunkt des zuletzt empfangenen Wertes.
+	 *
+	 * @param key
+	 *            der Schlüssel aus {@link #key(String, String)}
+	 * @return der Ankunftszeitpunkt ({@link System#nanoTime()}) oder
+	 *         <code>null</code>
+	 */
+	public Long getSeenAt(String key) {
+		return seenAt.get(key);
+	}
+
+	/**
+	 * Liefert den zuletzt abgelegten {@link SerialValue}.
+	 *
+	 * @param key
+	 *            der Schlüssel aus {@link #key(String, String)}
+	 * @return der zuletzt abgelegte Wert oder <code>null</code>
+	 */
+	public SerialValue get(String key) {
+		Deque<SerialValue> history = histories.get(key);
+		if (history == null) {
+			return null;
+		}
+		synchronized (history) {
+			return history.peekLast();
+		}
+	}
+
+	/**
+	 * Liefert den Verlauf, der älteste Wert zuerst.
+	 *
+	 * @param key
+	 *            der Schlüssel aus {@link #key(String, String)}
+	 * @return der Verlauf, ggf. leer
+	 */
+	public List<SerialValue> getHistory(String key) {
+		Deque<SerialValue> history = histories.get(key);
+		if (history == null) {
+			return Collections.emptyList();
+		}
+		synchronized (history) {
+			return new ArrayList<SerialValue>(history);
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package de.draegerit.microarduinoser;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token Bucket für die Begrenzung der Anfragen eines Clients. Der Bucket
+ * fasst maximal <i>capacity</i> Tokens und wird mit <i>ratePerSecond</i>
+ * Tokens je Sekunde aufgefüllt.
+ */
+public class TokenBucket {
+
+	private final double capacity;
+
+	private final double tokensPerNano;
+
+	private double tokens;
+
+	/**
+	 * Zeitpunkt ({@link System#nanoTime()}) des letzten Auffüllens.
+	 **/
+	private long refilledAt;
+
+	public TokenBucket(double ratePerSecond, double capacity, long now) {
+		this.capacity = capacity;
+		this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.tokens = capacity;
+		this.refilledAt = now;
+	}
+
+	/**
+	 * Entnimmt ein Token.
+	 *
+	 * @param now
+	 *            der aktuelle Zeitpunkt ({@link System#nanoTime()})
+	 * @return <code>true</code> wenn ein Token verfügbar war
+	 */
+	public synchronized boolean tryAcquire(long now) {
+		refill(now);
+		if (tokens >= 1) {
+			tokens -= 1;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Liefert die Wartezeit bis zum nächsten verfügbaren Token.
+	 *
+	 * @param now
+	 *            der aktuelle Zeitpunkt ({@link System#nanoTime()})
+	 * @return die Wartezeit in Nanosekunden
+	 */
+	public synchronized long getNanosUntilAvailable(long now) {
+		refill(now);
+		return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+	}
+
+	private void refill(long now) {
+		tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+		refilledAt = now;
+	}
+}
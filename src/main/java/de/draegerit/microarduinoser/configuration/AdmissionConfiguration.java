@@ -0,0 +1,75 @@
+package de.draegerit.microarduinoser.configuration;
+
+import javax.validation.constraints.Min;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class AdmissionConfiguration {
+
+	// ein Lesevorgang belegt den Port für 2 * sleep Millisekunden
+	@Min(0)
+	private int maxSleep = 5000;
+
+	@Min(0)
+	private int maxQueuedRequests = 2;
+
+	@Min(0)
+	private long queueTimeout = 20000;
+
+	@Min(0)
+	private double requestsPerSecond = 1;
+
+	@Min(1)
+	private int burst = 5;
+
+	@JsonProperty
+	public int getMaxSleep() {
+		return maxSleep;
+	}
+
+	@JsonProperty
+	public void setMaxSleep(int maxSleep) {
+		this.maxSleep = maxSleep;
+	}
+
+	@JsonProperty
+	public int getMaxQueuedRequests() {
+		return maxQueuedRequests;
+	}
+
+	@JsonProperty
+	public void setMaxQueuedRequests(int maxQueuedRequests) {
+		this.maxQueuedRequests = maxQueuedRequests;
+	}
+
+	@JsonProperty
+	public long getQueueTimeout() {
+		return queueTimeout;
+	}
+
+	@JsonProperty
+	public void setQueueTimeout(long queueTimeout) {
+		this.queueTimeout = queueTimeout;
+	}
+
+	@JsonProperty
+	public double getRequestsPerSecond() {
+		return requestsPerSecond;
+	}
+
+	@JsonProperty
+	public void setRequestsPerSecond(double requestsPerSecond) {
+		this.requestsPerSecond = requestsPerSecond;
+	}
+
+	@JsonProperty
+	public int getBurst() {
+		return burst;
+	}
+
+	@JsonProperty
+	public void setBurst(int burst) {
+		this.burst = burst;
+	}
+
+}
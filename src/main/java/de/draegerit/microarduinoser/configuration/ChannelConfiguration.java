@@ -0,0 +1,35 @@
+package de.draegerit.microarduinoser.configuration;
+
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ChannelConfiguration {
+
+	@NotNull
+	private String name;
+
+	@NotNull
+	private String prefix;
+
+	@JsonProperty
+	public String getName() {
+		return name;
+	}
+
+	@JsonProperty
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	@JsonProperty
+	public String getPrefix() {
+		return prefix;
+	}
+
+	@JsonProperty
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+	}
+
+}
@@ -0,0 +1,73 @@
+package de.draegerit.microarduinoser.configuration;
+
+import javax.validation.constraints.Min;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class FilterConfiguration {
+
+	@Min(0)
+	private double deadband;
+
+	@Min(0)
+	private double deadbandPercent;
+
+	private boolean changeOnly;
+
+	@Min(0)
+	private long minInterval;
+
+	@Min(0)
+	private long heartbeat;
+
+	@JsonProperty
+	public double getDeadband() {
+		return deadband;
+	}
+
+	@JsonProperty
+	public void setDeadband(double deadband) {
+		this.deadband = deadband;
+	}
+
+	@JsonProperty
+	public double getDeadbandPercent() {
+		return deadbandPercent;
+	}
+
+	@JsonProperty
+	public void setDeadbandPercent(double deadbandPercent) {
+		this.deadbandPercent = deadbandPercent;
+	}
+
+	@JsonProperty
+	public boolean isChangeOnly() {
+		return changeOnly;
+	}
+
+	@JsonProperty
+	public void setChangeOnly(boolean changeOnly) {
+		this.changeOnly = changeOnly;
+	}
+
+	@JsonProperty
+	public long getMinInterval() {
+		return minInterval;
+	}
+
+	@JsonProperty
+	public void setMinInterval(long minInterval) {
+		this.minInterval = minInterval;
+	}
+
+	@JsonProperty
+	public long getHeartbeat() {
+		return heartbeat;
+	}
+
+	@JsonProperty
+	public void setHeartbeat(long heartbeat) {
+		this.heartbeat = heartbeat;
+	}
+
+}
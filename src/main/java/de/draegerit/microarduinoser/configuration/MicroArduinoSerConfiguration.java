@@ -1,7 +1,16 @@
 package de.draegerit.microarduinoser.configuration;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import org.hibernate.validator.constraints.NotEmpty;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class MicroArduinoSerConfiguration extends io.dropwizard.Configuration {
@@ -24,12 +33,32 @@ public class MicroArduinoSerConfiguration extends io.dropwizard.Configuration {
 	@NotNull
 	private int sleep;
 	
-	@NotNull
+	@NotEmpty
 	private String firstCharacter;
 	
-	@NotNull
+	@NotEmpty
 	private String lastCharacter;
 	
+	@Valid
+	@NotNull
+	private List<ChannelConfiguration> channels = new ArrayList<ChannelConfiguration>();
+	
+	private String channelSeparator;
+	
+	@Min(1)
+	private int historySize = 100;
+	
+	@Min(0)
+	private int maxAge = 5000;
+	
+	@Valid
+	@NotNull
+	private Map<String, FilterConfiguration> filters = new HashMap<String, FilterConfiguration>();
+	
+	@Valid
+	@NotNull
+	private AdmissionConfiguration admission = new AdmissionConfiguration();
+	
 	
 	@JsonProperty
 	public String getPortname() {
@@ -110,5 +139,65 @@ public class MicroArduinoSerConfiguration extends io.dropwizard.Configuration {
 	public void setLastCharacter(String lastCharacter) {
 		this.lastCharacter = lastCharacter;
 	}
+
+	@JsonProperty
+	public List<ChannelConfiguration> getChannels() {
+		return channels;
+	}
+
+	@JsonProperty
+	public void setChannels(List<ChannelConfiguration> channels) {
+		this.channels = channels;
+	}
+
+	@JsonProperty
+	public String getChannelSeparator() {
+		return channelSeparator;
+	}
+
+	@JsonProperty
+	public void setChannelSeparator(String channelSeparator) {
+		this.channelSeparator = channelSeparator;
+	}
+
+	@JsonProperty
+	public int getHistorySize() {
+		return historySize;
+	}
+
+	@JsonProperty
+	public void setHistorySize(int historySize) {
+		this.historySize = historySize;
+	}
+
+	@JsonProperty
+	public int getMaxAge() {
+		return maxAge;
+	}
+
+	@JsonProperty
+	public void setMaxAge(int maxAge) {
+		this.maxAge = maxAge;
+	}
+
+	@JsonProperty
+	public Map<String, FilterConfiguration> getFilters() {
+		return filters;
+	}
+
+	@JsonProperty
+	public void setFilters(Map<String, FilterConfiguration> filters) {
+		this.filters = filters;
+	}
+
+	@JsonProperty
+	public AdmissionConfiguration getAdmission() {
+		return admission;
+	}
+
+	@JsonProperty
+	public void setAdmission(AdmissionConfiguration admission) {
+		this.admission = admission;
+	}
 	
 }
@@ -0,0 +1,115 @@
+package de.draegerit.microarduinoser.metrics;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * {@link Reservoir} auf Basis eines {@link Histogram} von HdrHistogram. Im
+ * Gegensatz zu den Reservoirs von Metrics werden alle Werte ohne Stichprobe
+ * erfasst, somit bleiben auch seltene Ausreißer in den Perzentilen sichtbar.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+	/**
+	 * Anzahl der signifikanten Dezimalstellen.
+	 **/
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+	@Override
+	public int size() {
+		return (int) Math.min(this.histogram.getTotalCount(), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void update(final long value) {
+		this.histogram.recordValue(Math.max(0, value));
+	}
+
+	@Override
+	public Snapshot getSnapshot() {
+		return new HdrSnapshot(copy());
+	}
+
+	/**
+	 * Liefert eine Kopie des aktuellen {@link Histogram}.
+	 *
+	 * @return eine Kopie des {@link Histogram}
+	 */
+	public Histogram copy() {
+		return this.histogram.copy();
+	}
+
+	/**
+	 * {@link Snapshot} eines kopierten {@link Histogram}.
+	 */
+	private static final class HdrSnapshot extends Snapshot {
+
+		private final Histogram histogram;
+
+		private HdrSnapshot(final Histogram histogram) {
+			this.histogram = histogram;
+		}
+
+		@Override
+		public double getValue(final double quantile) {
+			return this.histogram.getValueAtPercentile(quantile * 100.0);
+		}
+
+		@Override
+		public long[] getValues() {
+			final long[] values = new long[size()];
+			int i = 0;
+			for (HistogramIterationValue value : this.histogram.recordedValues()) {
+				for (long n = 0; n < value.getCountAtValueIteratedTo() && i < values.length; n++) {
+					values[i++] = value.getValueIteratedTo();
+				}
+			}
+			return values;
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.min(this.histogram.getTotalCount(), Integer.MAX_VALUE);
+		}
+
+		@Override
+		public long getMax() {
+			return this.histogram.getMaxValue();
+		}
+
+		@Override
+		public double getMean() {
+			return this.histogram.getMean();
+		}
+
+		@Override
+		public long getMin() {
+			return this.histogram.getMinValue();
+		}
+
+		@Override
+		public double getStdDev() {
+			return this.histogram.getStdDeviation();
+		}
+
+		@Override
+		public void dump(final OutputStream output) {
+			final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+			for (long value : getValues()) {
+				out.printf("%d%n", value);
+			}
+			out.flush();
+		}
+	}
+}
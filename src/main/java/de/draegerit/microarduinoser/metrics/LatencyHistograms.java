@@ -0,0 +1,65 @@
+package de.draegerit.microarduinoser.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Verteilungen der Laufzeiten eines Messwertes in Mikrosekunden:
+ * <ul>
+ * <li>arrival-to-frame : erstes Byte empfangen bis Rahmen vollständig</li>
+ * <li>frame-to-cache : Rahmen vollständig bis Wert im Cache abgelegt</li>
+ * <li>cache-to-response : Wert im Cache abgelegt bis Antwort geschrieben</li>
+ * </ul>
+ * Die Verteilungen werden in der {@link MetricRegistry} unter
+ * <i>latency.&lt;stage&gt;</i> registriert.
+ */
+public class LatencyHistograms {
+
+	public static final String ARRIVAL_TO_FRAME = "arrival-to-frame";
+
+	public static final String FRAME_TO_CACHE = "frame-to-cache";
+
+	public static final String CACHE_TO_RESPONSE = "cache-to-response";
+
+	private final Map<String, HdrHistogramReservoir> reservoirs = new LinkedHashMap<String, HdrHistogramReservoir>();
+
+	private final Map<String, Histogram> histograms = new LinkedHashMap<String, Histogram>();
+
+	public LatencyHistograms(final MetricRegistry registry) {
+		for (String stage : new String[] { ARRIVAL_TO_FRAME, FRAME_TO_CACHE, CACHE_TO_RESPONSE }) {
+			final HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+			this.reservoirs.put(stage, reservoir);
+			this.histograms.put(stage, registry.register(MetricRegistry.name("latency", stage), new Histogram(reservoir)));
+		}
+	}
+
+	public void recordArrivalToFrame(final long nanos) {
+		record(ARRIVAL_TO_FRAME, nanos);
+	}
+
+	public void recordFrameToCache(final long nanos) {
+		record(FRAME_TO_CACHE, nanos);
+	}
+
+	public void recordCacheToResponse(final long nanos) {
+		record(CACHE_TO_RESPONSE, nanos);
+	}
+
+	/**
+	 * Liefert die Reservoirs je Abschnitt in der Reihenfolge der Verarbeitung.
+	 *
+	 * @return die Reservoirs je Abschnitt
+	 */
+	public Map<String, HdrHistogramReservoir> getReservoirs() {
+		return Collections.unmodifiableMap(this.reservoirs);
+	}
+
+	private void record(final String stage, final long nanos) {
+		this.histograms.get(stage).update(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+}
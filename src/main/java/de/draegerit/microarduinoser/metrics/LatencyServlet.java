@@ -0,0 +1,45 @@
+package de.draegerit.microarduinoser.metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet für den Admin Port, gibt die Perzentilverteilung der
+ * {@link LatencyHistograms} in Millisekunden aus.
+ */
+public class LatencyServlet extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Die Werte werden in Mikrosekunden erfasst und in Millisekunden
+	 * ausgegeben.
+	 **/
+	private static final double MICROS_PER_MILLI = 1000.0;
+
+	private final transient LatencyHistograms latencyHistograms;
+
+	public LatencyServlet(final LatencyHistograms latencyHistograms) {
+		this.latencyHistograms = latencyHistograms;
+	}
+
+	@Override
+	protected void doGet(final HttpServletRequest req, final HttpServletResponse resp) throws IOException {
+		resp.setStatus(HttpServletResponse.SC_OK);
+		resp.setContentType("text/plain");
+		resp.setCharacterEncoding("UTF-8");
+		resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+		final PrintStream out = new PrintStream(resp.getOutputStream(), false, "UTF-8");
+		for (Map.Entry<String, HdrHistogramReservoir> entry : this.latencyHistograms.getReservoirs().entrySet()) {
+			out.printf("# %s (ms)%n", entry.getKey());
+			entry.getValue().copy().outputPercentileDistribution(out, MICROS_PER_MILLI);
+			out.println();
+		}
+		out.flush();
+	}
+}
@@ -0,0 +1,52 @@
+package de.draegerit.microarduinoser.metrics;
+
+import java.io.IOException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import de.draegerit.microarduinoser.SerialValue;
+
+/**
+ * Erfasst die Zeit vom Ablegen eines {@link SerialValue} im Cache bis die
+ * Antwort vollständig geschrieben wurde. Es werden nur Werte erfasst, welche
+ * während der aktuellen Anfrage abgelegt wurden, ein aus dem Cache gelieferter
+ * älterer Wert würde sonst dessen Alter statt der Laufzeit erfassen.
+ */
+@Provider
+public class LatencyWriterInterceptor implements ContainerRequestFilter, WriterInterceptor {
+
+	/**
+	 * Name der Eigenschaft mit dem Beginn ({@link System#nanoTime()}) der
+	 * Anfrage.
+	 **/
+	private static final String REQUEST_STARTED_AT = LatencyWriterInterceptor.class.getName() + ".startedAt";
+
+	private final LatencyHistograms latencyHistograms;
+
+	public LatencyWriterInterceptor(final LatencyHistograms latencyHistograms) {
+		this.latencyHistograms = latencyHistograms;
+	}
+
+	@Override
+	public void filter(final ContainerRequestContext requestContext) throws IOException {
+		requestContext.setProperty(REQUEST_STARTED_AT, System.nanoTime());
+	}
+
+	@Override
+	public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+		context.proceed();
+		final Object entity = context.getEntity();
+		final Object startedAt = context.getProperty(REQUEST_STARTED_AT);
+		if (entity instanceof SerialValue && startedAt instanceof Long) {
+			final long cachedAt = ((SerialValue) entity).getCachedAt();
+			if (cachedAt != 0 && cachedAt - (Long) startedAt >= 0) {
+				this.latencyHistograms.recordCacheToResponse(System.nanoTime() - cachedAt);
+			}
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+import de.draegerit.microarduinoser.configuration.AdmissionConfiguration;
+
+public class TestAdmissionControl {
+
+	private static final String PORT = "COM10";
+
+	private static final String CLIENT = "127.0.0.1";
+
+	private static final long HOLD_TIME = 10;
+
+	private final MetricRegistry registry = new MetricRegistry();
+
+	private AdmissionControl createAdmissionControl(int maxQueuedRequests, long queueTimeout) {
+		AdmissionConfiguration configuration = new AdmissionConfiguration();
+		configuration.setMaxQueuedRequests(maxQueuedRequests);
+		configuration.setQueueTimeout(queueTimeout);
+		configuration.setRequestsPerSecond(0);
+		return new AdmissionControl(configuration, registry);
+	}
+
+	private int acquireStatus(AdmissionControl admissionControl) {
+		return acquireStatus(admissionControl, HOLD_TIME);
+	}
+
+	private int acquireStatus(AdmissionControl admissionControl, long holdTime) {
+		try {
+			admissionControl.acquire(PORT, CLIENT, holdTime);
+		} catch (WebApplicationException e) {
+			return e.getResponse().getStatus();
+		}
+		fail("request should be rejected");
+		return 0;
+	}
+
+	@Test
+	public void shouldBeRejectedWhenQueueIsFull() throws InterruptedException {
+		final AdmissionControl admissionControl = createAdmissionControl(1, 10000);
+		admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+		Thread queued = new Thread(new Runnable() {
+
+			public void run() {
+				admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+				admissionControl.release(PORT);
+			}
+		});
+		queued.start();
+		while (admissionControl.getQueuedRequests(PORT) < 1) {
+			Thread.sleep(1);
+		}
+		assertEquals(503, acquireStatus(admissionControl));
+		assertEquals(1, registry.meter("admission.rejected.queue-full").getCount());
+		assertEquals(1, admissionControl.getQueuedRequests(PORT));
+		admissionControl.release(PORT);
+		queued.join(10000);
+		assertEquals(0, admissionControl.getQueuedRequests(PORT));
+	}
+
+	@Test
+	public void shouldBeRejectedAfterQueueTimeout() {
+		AdmissionControl admissionControl = createAdmissionControl(1, 20);
+		admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+		assertEquals(503, acquireStatus(admissionControl));
+		assertEquals(503, acquireStatus(admissionControl));
+		assertEquals(2, registry.meter("admission.rejected.queue-timeout").getCount());
+		assertEquals(0, registry.meter("admission.rejected.queue-full").getCount());
+		assertEquals(0, admissionControl.getQueuedRequests(PORT));
+		admissionControl.release(PORT);
+		admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+		admissionControl.release(PORT);
+	}
+
+	@Test
+	public void shouldBeRateLimitedPerClient() {
+		AdmissionConfiguration configuration = new AdmissionConfiguration();
+		configuration.setRequestsPerSecond(0.5);
+		configuration.setBurst(1);
+		AdmissionControl admissionControl = new AdmissionControl(configuration, registry);
+		admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+		admissionControl.release(PORT);
+		try {
+			admissionControl.acquire(PORT, CLIENT, HOLD_TIME);
+			fail("request should be rate limited");
+		} catch (WebApplicationException e) {
+			assertEquals(429, e.getResponse().getStatus());
+			assertEquals("2", e.getResponse().getHeaderString(HttpHeaders.RETRY_AFTER));
+		}
+		assertEquals(1, registry.meter("admission.rejected.rate-limited").getCount());
+		admissionControl.acquire(PORT, "127.0.0.2", HOLD_TIME);
+		admissionControl.release(PORT);
+	}
+
+	@Test
+	public void shouldBeRejectedWhenExpectedWaitExceedsTimeout() {
+		AdmissionControl admissionControl = createAdmissionControl(8, 100);
+		admissionControl.acquire(PORT, CLIENT, 200);
+		long startedAt = System.nanoTime();
+		assertEquals(503, acquireStatus(admissionControl, 200));
+		assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(1, registry.meter("admission.rejected.expected-wait").getCount());
+		assertEquals(0, registry.meter("admission.rejected.queue-timeout").getCount());
+		assertEquals(0, admissionControl.getQueuedRequests(PORT));
+		admissionControl.release(PORT);
+	}
+
+	@Test
+	public void shouldLimitSleep() {
+		AdmissionConfiguration configuration = new AdmissionConfiguration();
+		configuration.setMaxSleep(5000);
+		AdmissionControl admissionControl = new AdmissionControl(configuration, registry);
+		assertEquals(4000, admissionControl.limitSleep(4000));
+		assertEquals(5000, admissionControl.limitSleep(60000));
+		assertEquals(0, admissionControl.limitSleep(-1));
+	}
+}
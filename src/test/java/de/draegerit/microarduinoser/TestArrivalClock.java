@@ -0,0 +1,27 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TestArrivalClock {
+
+	@Test
+	public void shouldBeCurrentTimeForNow() {
+		long before = System.currentTimeMillis();
+		long epochMillis = ArrivalClock.toEpochMillis(System.nanoTime());
+		long after = System.currentTimeMillis();
+		assertTrue(epochMillis >= before - 1 && epochMillis <= after);
+	}
+
+	@Test
+	public void shouldBeCurrentTimeMinusElapsed() {
+		long elapsed = TimeUnit.SECONDS.toNanos(5);
+		long before = System.currentTimeMillis();
+		long epochMillis = ArrivalClock.toEpochMillis(System.nanoTime() - elapsed);
+		long after = System.currentTimeMillis();
+		assertTrue(epochMillis >= before - 5001 && epochMillis <= after - 5000);
+	}
+}
@@ -0,0 +1,75 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.draegerit.microarduinoser.configuration.ChannelConfiguration;
+
+public class TestChannelDemultiplexer {
+
+	private ChannelDemultiplexer createDemultiplexer(String separator) {
+		List<ChannelConfiguration> channels = new ArrayList<ChannelConfiguration>();
+		channels.add(channel("temperature", "T"));
+		channels.add(channel("humidity", "H"));
+		channels.add(channel("heatindex", "HI"));
+		return new ChannelDemultiplexer(channels, separator);
+	}
+
+	private ChannelConfiguration channel(String name, String prefix) {
+		ChannelConfiguration channel = new ChannelConfiguration();
+		channel.setName(name);
+		channel.setPrefix(prefix);
+		return channel;
+	}
+
+	private SerialMessage message(String text) {
+		SerialMessage message = new SerialMessage();
+		message.append(text.getBytes(), 1L);
+		return message;
+	}
+
+	@Test
+	public void shouldBeAllFramesInOrder() {
+		ChannelDemultiplexer demultiplexer = createDemultiplexer(null);
+		List<SerialFrame> frames = demultiplexer.frame(message("3BAT21.5BAH40BAT2"), "A", "B");
+		assertEquals(2, frames.size());
+		assertEquals("T21.5", frames.get(0).getValue());
+		assertNull(frames.get(0).getChannel());
+		assertEquals("H40", frames.get(1).getValue());
+	}
+
+	@Test
+	public void shouldBeAssignedToChannels() {
+		ChannelDemultiplexer demultiplexer = createDemultiplexer(null);
+		List<SerialFrame> frames = demultiplexer.demultiplex(demultiplexer.frame(message("AT21.5BAX1BAHI23BAH40B"), "A", "B"));
+		assertEquals(3, frames.size());
+		assertEquals("temperature", frames.get(0).getChannel());
+		assertEquals("21.5", frames.get(0).getValue());
+		assertEquals("heatindex", frames.get(1).getChannel());
+		assertEquals("23", frames.get(1).getValue());
+		assertEquals("humidity", frames.get(2).getChannel());
+		assertEquals("40", frames.get(2).getValue());
+	}
+
+	@Test
+	public void shouldBeSplitBySeparator() {
+		ChannelDemultiplexer demultiplexer = createDemultiplexer(";");
+		List<SerialFrame> frames = demultiplexer.demultiplex(demultiplexer.frame(message("AT21.5;H40B"), "A", "B"));
+		assertEquals(2, frames.size());
+		assertEquals("21.5", frames.get(0).getValue());
+		assertEquals("40", frames.get(1).getValue());
+	}
+
+	@Test
+	public void shouldTerminateOnEmptyDelimiters() {
+		ChannelDemultiplexer demultiplexer = createDemultiplexer(null);
+		assertEquals(3, demultiplexer.frame(message("T21"), "", "").size());
+		assertEquals(1, demultiplexer.frame(message("AT21"), "A", "").size());
+		assertEquals(0, demultiplexer.frame(message(""), "", "").size());
+	}
+}
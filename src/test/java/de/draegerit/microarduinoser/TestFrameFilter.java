@@ -0,0 +1,62 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import de.draegerit.microarduinoser.configuration.FilterConfiguration;
+
+public class TestFrameFilter {
+
+	private long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Test
+	public void shouldBeSuppressedUnchangedValues() {
+		FilterConfiguration configuration = new FilterConfiguration();
+		configuration.setChangeOnly(true);
+		FrameFilter filter = new FrameFilter(configuration);
+		assertTrue(filter.accept("21.5", millis(0)));
+		assertFalse(filter.accept("21.5", millis(10)));
+		assertTrue(filter.accept("21.6", millis(20)));
+	}
+
+	@Test
+	public void shouldBeSuppressedWithinDeadband() {
+		FilterConfiguration configuration = new FilterConfiguration();
+		configuration.setDeadband(0.5);
+		FrameFilter filter = new FrameFilter(configuration);
+		assertTrue(filter.accept("20.0", millis(0)));
+		assertFalse(filter.accept("20.4", millis(10)));
+		assertFalse(filter.accept("19.5", millis(20)));
+		assertTrue(filter.accept("20.6", millis(30)));
+	}
+
+	@Test
+	public void shouldBeSuppressedWithinDeadbandPercent() {
+		FilterConfiguration configuration = new FilterConfiguration();
+		configuration.setDeadbandPercent(10);
+		FrameFilter filter = new FrameFilter(configuration);
+		assertTrue(filter.accept("100", millis(0)));
+		assertFalse(filter.accept("109", millis(10)));
+		assertTrue(filter.accept("111", millis(20)));
+	}
+
+	@Test
+	public void shouldBeEmittedOnHeartbeatOnly() {
+		FilterConfiguration configuration = new FilterConfiguration();
+		configuration.setMinInterval(100);
+		configuration.setChangeOnly(true);
+		configuration.setHeartbeat(1000);
+		FrameFilter filter = new FrameFilter(configuration);
+		assertTrue(filter.accept("1", millis(0)));
+		assertFalse(filter.accept("2", millis(50)));
+		assertTrue(filter.accept("2", millis(150)));
+		assertFalse(filter.accept("2", millis(900)));
+		assertTrue(filter.accept("2", millis(1150)));
+	}
+}
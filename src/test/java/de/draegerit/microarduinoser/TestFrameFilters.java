@@ -0,0 +1,40 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+import de.draegerit.microarduinoser.configuration.FilterConfiguration;
+
+public class TestFrameFilters {
+
+	@Test
+	public void shouldBeCountedSeparatelyForChannels() {
+		Map<String, FilterConfiguration> configurations = new HashMap<String, FilterConfiguration>();
+		FilterConfiguration changeOnly = new FilterConfiguration();
+		changeOnly.setChangeOnly(true);
+		configurations.put("COM10/temperature", changeOnly);
+		MetricRegistry registry = new MetricRegistry();
+		FrameFilters filters = new FrameFilters(configurations, registry);
+
+		filters.accept("COM10", new SerialFrame(null, "T21;H40", 1L, 1L));
+		filters.accept("COM10", new SerialFrame("temperature", "21", 1L, 1L));
+		filters.accept("COM10", new SerialFrame("humidity", "40", 1L, 1L));
+		filters.accept("COM10", new SerialFrame(null, "T21;H41", 2L, 2L));
+		filters.accept("COM10", new SerialFrame("temperature", "21", 2L, 2L));
+		filters.accept("COM10", new SerialFrame("humidity", "41", 2L, 2L));
+
+		assertEquals(2, registry.meter("frames.received").getCount());
+		assertEquals(2, registry.meter("frames.emitted").getCount());
+		assertEquals(0, registry.meter("frames.suppressed").getCount());
+		assertEquals(2, registry.meter("channels.temperature.received").getCount());
+		assertEquals(1, registry.meter("channels.temperature.emitted").getCount());
+		assertEquals(1, registry.meter("channels.temperature.suppressed").getCount());
+		assertEquals(2, registry.meter("channels.humidity.emitted").getCount());
+	}
+}
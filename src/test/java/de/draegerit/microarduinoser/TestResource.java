@@ -0,0 +1,121 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.NotFoundException;
+
+import org.junit.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Optional;
+
+import de.draegerit.microarduinoser.configuration.AdmissionConfiguration;
+import de.draegerit.microarduinoser.configuration.ChannelConfiguration;
+import de.draegerit.microarduinoser.configuration.FilterConfiguration;
+import de.draegerit.microarduinoser.metrics.LatencyHistograms;
+
+public class TestResource {
+
+	private static final String PORT = "COM10";
+
+	/**
+	 * Ein Lesevorgang dauert länger als maxAge.
+	 **/
+	private static final int MAX_AGE = 20;
+
+	private static final int READ_DURATION = 100;
+
+	private Resource createResource(final CharSequence received, boolean changeOnly) {
+		List<ChannelConfiguration> channels = new ArrayList<ChannelConfiguration>();
+		channels.add(channel("temperature", "T"));
+		channels.add(channel("humidity", "H"));
+		Map<String, FilterConfiguration> filters = new HashMap<String, FilterConfiguration>();
+		if (changeOnly) {
+			FilterConfiguration filter = new FilterConfiguration();
+			filter.setChangeOnly(true);
+			filters.put(PORT, filter);
+		}
+		MetricRegistry registry = new MetricRegistry();
+		return new Resource(PORT, 9600, 8, 1, 0, READ_DURATION, "A", "B", MAX_AGE,
+				new ChannelDemultiplexer(channels, ";"),
+				new FrameFilters(filters, registry), new SerialValueCache(10),
+				new LatencyHistograms(registry), new AdmissionControl(new AdmissionConfiguration(), registry)) {
+
+			@Override
+			SerialMessage readMessage(String portname, int baudrate, int databits, int stopbits, int parity,
+					int sleep) throws InterruptedException {
+				SerialMessage message = new SerialMessage();
+				message.append(received.toString().getBytes(), System.nanoTime());
+				Thread.sleep(sleep);
+				return message;
+			}
+		};
+	}
+
+	private ChannelConfiguration channel(String name, String prefix) {
+		ChannelConfiguration channel = new ChannelConfiguration();
+		channel.setName(name);
+		channel.setPrefix(prefix);
+		return channel;
+	}
+
+	private HttpServletRequest request() {
+		return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { HttpServletRequest.class }, new InvocationHandler() {
+
+					@Override
+					public Object invoke(Object proxy, Method method, Object[] args) {
+						return "getRemoteAddr".equals(method.getName()) ? "127.0.0.1" : null;
+					}
+				});
+	}
+
+	private SerialValue get(Resource resource) throws Exception {
+		return resource.get(Optional.<String> absent(), Optional.<Integer> absent(), Optional.<Integer> absent(),
+				Optional.<Integer> absent(), Optional.<Integer> absent(), Optional.<Integer> absent(),
+				Optional.<String> absent(), Optional.<String> absent(), request());
+	}
+
+	private SerialValue getChannel(Resource resource, String channel) throws Exception {
+		return resource.getChannel(PORT, channel, Optional.<Integer> absent(), Optional.<Integer> absent(),
+				Optional.<Integer> absent(), Optional.<Integer> absent(), Optional.<Integer> absent(),
+				Optional.<String> absent(), Optional.<String> absent(), request());
+	}
+
+	@Test
+	public void shouldBeReceivedDuringRead() throws Exception {
+		Resource resource = createResource("AT21.5;H40B", false);
+		assertEquals("21.5", getChannel(resource, "temperature").getValue());
+	}
+
+	@Test(expected = NotFoundException.class)
+	public void shouldBeNotFoundIfNotReceivedDuringRead() throws Exception {
+		Resource resource = createResource("AT21.5B", false);
+		getChannel(resource, "humidity");
+	}
+
+	@Test
+	public void shouldBeLastValueIfAllFramesFiltered() throws Exception {
+		Resource resource = createResource("AT21.5;H40B", true);
+		assertEquals("T21.5;H40", get(resource).getValue());
+		assertEquals("T21.5;H40", get(resource).getValue());
+	}
+
+	@Test(expected = NotFoundException.class)
+	public void shouldBeNotFoundIfNoFrameReceived() throws Exception {
+		StringBuilder received = new StringBuilder("AT21.5;H40B");
+		Resource resource = createResource(received, true);
+		get(resource);
+		received.setLength(0);
+		get(resource);
+	}
+}
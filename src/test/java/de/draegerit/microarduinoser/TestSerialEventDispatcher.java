@@ -0,0 +1,138 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import de.draegerit.microarduinoser.SerialCommunication.SerialCommunicationPort;
+import jssc.SerialPort;
+import jssc.SerialPortEvent;
+import jssc.SerialPortEventListener;
+import jssc.SerialPortException;
+
+public class TestSerialEventDispatcher {
+
+	private static final byte[] DATA = "A1B".getBytes();
+
+	private final SerialPortEvent rxchar = new SerialPortEvent("TEST", SerialPortEvent.RXCHAR, DATA.length);
+
+	private final SerialPortEvent txempty = new SerialPortEvent("TEST", SerialPortEvent.TXEMPTY, 0);
+
+	/**
+	 * Empfänger welcher die erhaltenen Daten merkt.
+	 */
+	private static class RecordingSubscriber implements SerialEventSubscriber {
+
+		private final List<SerialPortEvent> events = new ArrayList<SerialPortEvent>();
+
+		private final List<byte[]> data = new ArrayList<byte[]>();
+
+		public void serialEvent(SerialPortEvent event, byte[] data, long arrivedAt) {
+			this.events.add(event);
+			this.data.add(data);
+		}
+	}
+
+	@Test
+	public void shouldBeDispatchedToAllSubscribers() {
+		SerialEventDispatcher dispatcher = new SerialEventDispatcher();
+		RecordingSubscriber first = new RecordingSubscriber();
+		RecordingSubscriber second = new RecordingSubscriber();
+		dispatcher.add(first, SerialPort.MASK_RXCHAR);
+		dispatcher.add(second, SerialPort.MASK_RXCHAR);
+		dispatcher.dispatch(rxchar, DATA, 1L);
+		assertEquals(1, first.events.size());
+		assertArrayEquals(DATA, first.data.get(0));
+		assertEquals(1, second.events.size());
+		assertArrayEquals(DATA, second.data.get(0));
+	}
+
+	@Test
+	public void shouldBeDispatchedByMask() {
+		SerialEventDispatcher dispatcher = new SerialEventDispatcher();
+		RecordingSubscriber reader = new RecordingSubscriber();
+		RecordingSubscriber writer = new RecordingSubscriber();
+		dispatcher.add(reader, SerialPort.MASK_RXCHAR);
+		dispatcher.add(writer, SerialPort.MASK_TXEMPTY);
+		dispatcher.dispatch(rxchar, DATA, 1L);
+		dispatcher.dispatch(txempty, null, 2L);
+		assertEquals(1, reader.events.size());
+		assertEquals(SerialPortEvent.RXCHAR, reader.events.get(0).getEventType());
+		assertEquals(1, writer.events.size());
+		assertEquals(SerialPortEvent.TXEMPTY, writer.events.get(0).getEventType());
+		assertEquals(SerialPort.MASK_RXCHAR | SerialPort.MASK_TXEMPTY, dispatcher.getMask());
+	}
+
+	@Test
+	public void shouldBeRemovedOnUnsubscribe() {
+		SerialEventDispatcher dispatcher = new SerialEventDispatcher();
+		RecordingSubscriber reader = new RecordingSubscriber();
+		RecordingSubscriber writer = new RecordingSubscriber();
+		dispatcher.add(reader, SerialPort.MASK_RXCHAR);
+		dispatcher.add(writer, SerialPort.MASK_TXEMPTY);
+		dispatcher.remove(reader);
+		dispatcher.dispatch(rxchar, DATA, 1L);
+		assertTrue(reader.events.isEmpty());
+		assertEquals(SerialPort.MASK_TXEMPTY, dispatcher.getMask());
+		dispatcher.remove(writer);
+		assertEquals(0, dispatcher.getMask());
+	}
+
+	@Test
+	public void shouldBeIsolatedFromFailingSubscriber() {
+		SerialEventDispatcher dispatcher = new SerialEventDispatcher();
+		RecordingSubscriber reader = new RecordingSubscriber();
+		dispatcher.add(new SerialEventSubscriber() {
+
+			public void serialEvent(SerialPortEvent event, byte[] data, long arrivedAt) {
+				throw new IllegalStateException("failing subscriber");
+			}
+		}, SerialPort.MASK_RXCHAR);
+		dispatcher.add(reader, SerialPort.MASK_RXCHAR);
+		dispatcher.dispatch(rxchar, DATA, 1L);
+		assertEquals(1, reader.events.size());
+	}
+
+	@Test
+	public void shouldBeDataForLegacyListener() throws SerialPortException {
+		final SerialCommunicationPort port = new SerialCommunicationPort("TEST");
+		final List<byte[]> received = new ArrayList<byte[]>();
+		SerialPortEventListener listener = new SerialPortEventListener() {
+
+			public void serialEvent(SerialPortEvent event) {
+				try {
+					received.add(port.readBytes());
+				} catch (SerialPortException e) {
+					fail(e.getMessage());
+				}
+			}
+		};
+		RecordingSubscriber reader = new RecordingSubscriber();
+		port.getDispatcher().add(port.adapt(listener), SerialPort.MASK_RXCHAR);
+		port.getDispatcher().add(reader, SerialPort.MASK_RXCHAR);
+		port.getDispatcher().dispatch(rxchar, DATA, 1L);
+		assertEquals(1, received.size());
+		assertArrayEquals(DATA, received.get(0));
+		assertArrayEquals(DATA, reader.data.get(0));
+		assertEquals(1, port.getRegisteredEventListener().size());
+		port.removeEventListener(listener);
+		assertTrue(port.getRegisteredEventListener().isEmpty());
+	}
+
+	@Test
+	public void shouldBeNotSubscribedOnClosedPort() {
+		SerialCommunicationPort port = new SerialCommunicationPort("TEST");
+		try {
+			port.subscribe(new RecordingSubscriber(), SerialPort.MASK_RXCHAR);
+			fail("port is not opened");
+		} catch (SerialPortException e) {
+			assertTrue(port.getDispatcher().getSubscribers().isEmpty());
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TestSerialMessage {
+
+	@Test
+	public void shouldBeArrivalOfContainingChunk() {
+		SerialMessage message = new SerialMessage();
+		message.append("A12".getBytes(), 100L);
+		message.append("3B\r\n".getBytes(), 250L);
+		message.append("A45B".getBytes(), 400L);
+		assertEquals("A123BA45B", message.getText());
+		assertEquals(100L, message.getArrivalNanos(0));
+		assertEquals(100L, message.getArrivalNanos(2));
+		assertEquals(250L, message.getArrivalNanos(4));
+		assertEquals(400L, message.getArrivalNanos(5));
+	}
+
+	@Test
+	public void shouldBeIgnoredLineBreaksOnly() {
+		SerialMessage message = new SerialMessage();
+		message.append("A1".getBytes(), 100L);
+		message.append("\r\n".getBytes(), 200L);
+		message.append("B".getBytes(), 300L);
+		assertEquals("A1B", message.getText());
+		assertEquals(300L, message.getArrivalNanos(2));
+	}
+}
@@ -0,0 +1,36 @@
+package de.draegerit.microarduinoser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TestTokenBucket {
+
+	private long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Test
+	public void shouldBeLimitedToBurst() {
+		TokenBucket bucket = new TokenBucket(1, 3, millis(0));
+		assertTrue(bucket.tryAcquire(millis(0)));
+		assertTrue(bucket.tryAcquire(millis(0)));
+		assertTrue(bucket.tryAcquire(millis(0)));
+		assertFalse(bucket.tryAcquire(millis(0)));
+		assertEquals(millis(1000), bucket.getNanosUntilAvailable(millis(0)));
+	}
+
+	@Test
+	public void shouldBeRefilledByRate() {
+		TokenBucket bucket = new TokenBucket(2, 1, millis(0));
+		assertTrue(bucket.tryAcquire(millis(0)));
+		assertFalse(bucket.tryAcquire(millis(400)));
+		assertTrue(bucket.tryAcquire(millis(500)));
+		assertTrue(bucket.tryAcquire(millis(5000)));
+		assertFalse(bucket.tryAcquire(millis(5000)));
+	}
+}